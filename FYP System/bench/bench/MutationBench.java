@@ -0,0 +1,176 @@
+package bench;
+
+import controller.ProjectController;
+import controller.RequestController;
+import controller.StudentController;
+import entity.CentralManager;
+import entity.MutationLoop;
+import entity.Request;
+import entity.Role;
+import entity.Student;
+import entity.UpdateResult;
+import entity.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * The MutationBench class measures how many operations per second the system applies when many sessions change the data at once.
+ * Run it with -Dfyp.mutations.singlewriter=true as well to compare the MutationLoop, e.g. java -cp out:bench-out bench.MutationBench 8 8000
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class MutationBench {
+    /**
+     * The number of projects the operations pick from, starting at project ID 1
+     */
+    private static final int PROJECTS = 16;
+
+    /**
+     * Runs the benchmark.
+     * @param args the number of threads and the number of operations per thread, by default 4 and 4000
+     * @throws Exception if the data cannot be copied or an operation fails
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+        Path workingDirectory = Files.createTempDirectory("fyp-bench");
+        copyFolder(Path.of(System.getProperty("user.dir"), "data"), workingDirectory.resolve("data"));
+        System.setProperty("user.dir", workingDirectory.toString());
+
+        CentralManager centralManager = new CentralManager();
+        List<Student> students = new ArrayList<>();
+        List<String> supervisors = new ArrayList<>();
+        for (User user: centralManager.getMasterUsers()) {
+            if (user instanceof Student) {
+                students.add((Student) user);
+            } else if (user.hasRole(Role.SUPERVISOR)) {
+                supervisors.add(user.getId());
+            }
+        }
+        if (students.size() < threads) {
+            throw new IllegalArgumentException("There are fewer students than threads");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            results.add(executor.submit(() -> run(centralManager, students, supervisors, thread, threads, operations)));
+        }
+        for (Future<?> result: results) {
+            result.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        long total = (long) threads * operations;
+        System.out.printf("%s, %d threads: %d operations in %.1f ms (%.0f ops/s)%n",
+                MutationLoop.ENABLED ? "single writer" : "lock-based", threads, total, elapsed / 1e6, total * 1e9 / elapsed);
+        centralManager.close();
+        deleteFolder(workingDirectory);
+        System.exit(0);
+    }
+
+    /**
+     * Runs the operations of one thread. Each thread only submits requests for its own share of the students,
+     * so that they compete for the projects and supervisors but not for the same student's requests.
+     * @param centralManager the central manager whose data is changed
+     * @param students the students of the system
+     * @param supervisors the IDs of the supervisors of the system
+     * @param thread the index of the thread
+     * @param threads the number of threads
+     * @param operations the number of operations to run
+     */
+    private static void run(CentralManager centralManager, List<Student> students, List<String> supervisors,
+                            int thread, int threads, int operations) {
+        ProjectController projectController = centralManager.getProjectController();
+        RequestController requestController = centralManager.getRequestController();
+        StudentController studentController = centralManager.getStudentController();
+        Random random = new Random(thread);
+        for (int i = 0; i < operations; i++) {
+            Integer projectID = 1 + random.nextInt(PROJECTS);
+            Student student = students.get((thread + threads * random.nextInt(students.size() / threads)) % students.size());
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (student.getRegisteredProject() < 0 && projectController.validateAvailProjectID(projectID)
+                            && studentController.requestAllocation(projectID, student.getId()) == UpdateResult.APPLIED) {
+                        requestController.processRequest(lastRequest(requestController, student.getId()), random.nextBoolean() ? "Y" : "N");
+                    }
+                }
+                case 1 -> {
+                    int registered = student.getRegisteredProject();
+                    if (registered > 0) {
+                        requestController.requestDeAllocation(String.valueOf(registered), student.getId());
+                        requestController.processRequest(lastRequest(requestController, student.getId()), "Y");
+                    }
+                }
+                case 2 -> {
+                    String from = projectController.getSupervisorIDFromProjectID(projectID);
+                    String to = supervisors.get(random.nextInt(supervisors.size()));
+                    requestController.requestTransfer(String.valueOf(projectID), from, to);
+                    requestController.processRequest(lastRequest(requestController, from), "Y");
+                }
+                default -> {
+                    requestController.requestChangeTitle("Title " + i, student.getId(), String.valueOf(projectID));
+                    requestController.processRequest(lastRequest(requestController, student.getId()), "Y");
+                }
+            }
+        }
+    }
+
+    /**
+     * return the latest request made by a user
+     * @param requestController the request controller
+     * @param userID the ID of the user
+     * @return Request
+     */
+    private static Request lastRequest(RequestController requestController, String userID) {
+        ArrayList<Request> requests = requestController.getRequestsByUserID(userID);
+        return requests.get(requests.size() - 1);
+    }
+
+    /**
+     * Copies the files of a folder and its subfolders into another folder.
+     * @param from the folder to copy
+     * @param to the folder to copy into
+     * @throws IOException if a file cannot be copied
+     */
+    private static void copyFolder(Path from, Path to) throws IOException {
+        try (Stream<Path> paths = Files.walk(from)) {
+            paths.forEach(path -> {
+                try {
+                    Files.copy(path, to.resolve(from.relativize(path).toString()), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Deletes a folder with its files and subfolders.
+     * @param folder the folder to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void deleteFolder(Path folder) throws IOException {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            for (Path path: paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -3,10 +3,12 @@ package boundary;
 import entity.CentralManager;
 import utils.Base;
 
-import utils.Input;
+import utils.Session;
+
+import java.io.PrintStream;
 /**
  * The BaseBoundary class extends the Base class and provides the basic input functionalities and access to all the boundary classes.
- * It contains the centralManager object and input object.
+ * It contains the centralManager object, and reads and prints through the Session of the calling thread.
  * @author Esther Teo Gek Wat
  * @version 1.0
  * @since 2023-04-15
@@ -16,10 +18,6 @@ public class BaseBoundary extends Base {
      * The centralManager object for accessing all the entities and boundaries
      */
     CentralManager centralManager;
-    /**
-     * The input object for getting user input
-     */
-    Input input;
 
     /**
      * Constructs a BaseBoundary object with a centralManager object.
@@ -29,7 +27,6 @@ public class BaseBoundary extends Base {
     public BaseBoundary(CentralManager centralManager) {
         super(centralManager);
         this.centralManager = centralManager;
-        this.input = centralManager.getInput();
     }
 
     /**
@@ -49,7 +46,7 @@ public class BaseBoundary extends Base {
      * @return the integer input entered by the user
      */
     public Integer getInt(String prompt) {
-        return this.input.getInt(prompt);
+        return Session.current().getInput().getInt(prompt);
     }
 
     /**
@@ -59,7 +56,7 @@ public class BaseBoundary extends Base {
      * @return the double input entered by the user
      */
     public Double getDouble(String prompt) {
-        return this.input.getDouble(prompt);
+        return Session.current().getInput().getDouble(prompt);
     }
 
     /**
@@ -69,7 +66,16 @@ public class BaseBoundary extends Base {
      * @return the string input entered by the user
      */
     public String getLine(String prompt) {
-        return this.input.getLine(prompt);
+        return Session.current().getInput().getLine(prompt);
+    }
+
+    /**
+     * Returns the stream the screens of the user are printed to.
+     *
+     * @return the PrintStream of the Session of the calling thread
+     */
+    public PrintStream getOut() {
+        return Session.current().getOut();
     }
 
 
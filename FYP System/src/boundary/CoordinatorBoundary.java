@@ -34,16 +34,16 @@ public class CoordinatorBoundary extends SupervisorBoundary{
      */
     public void coordinatorOperations() {
         int choice = 0;
-        while (choice != 16) {
-            System.out.print(
+        while (choice != 17) {
+            this.getOut().print(
                     """
                             ========================= Welcome to Coordinator App =========================
                     """
             );
             this.displayMenuChoices();
             choice = this.getInt("Enter your choice:");
-            if (choice < 1 | choice > 16) {
-                System.out.println("Enter choice between 1-16 values only");
+            if (choice < 1 | choice > 17) {
+                this.getOut().println("Enter choice between 1-17 values only");
                 continue;
             }
             switch (choice) {
@@ -62,7 +62,8 @@ public class CoordinatorBoundary extends SupervisorBoundary{
                 case 13 -> this.viewProjectsByFilter();
                 case 14 -> this.processAllPendingRequests();
                 case 15 -> this.viewAllRequests();
-                case 16 -> System.out.println("Logging out...");
+                case 16 -> this.changeProjectCap();
+                case 17 -> this.getOut().println("Logging out...");
             }
         }
     }
@@ -74,7 +75,7 @@ public class CoordinatorBoundary extends SupervisorBoundary{
      * @param type the type of request to process.
      */
     public void processSpecificRequests(String type) {
-        System.out.println("Processing " + type + "requests:");
+        this.getOut().println("Processing " + type + "requests:");
         this.getRequestBoundary().processRequestsCoordinator(type);
     }
 
@@ -128,7 +129,7 @@ public class CoordinatorBoundary extends SupervisorBoundary{
                             """
             );
             while (choice < 1 || choice > 5) {
-                System.out.print("Invalid choice. ");
+                this.getOut().print("Invalid choice. ");
                 choice = this.getInt(
                         """
                                 Please choose one of the following project status filters by entering numbers 1 to 4:
@@ -192,7 +193,7 @@ public class CoordinatorBoundary extends SupervisorBoundary{
      * Displays all pending requests and allows coordinator to choose requests to approve.
      */
     public void processAllPendingRequests() {
-        System.out.println("Processing all requests:");
+        this.getOut().println("Processing all requests:");
         this.getRequestBoundary().processRequestsCoordinator("all");
     }
 
@@ -203,6 +204,24 @@ public class CoordinatorBoundary extends SupervisorBoundary{
         this.getRequestBoundary().viewAllRequests();
     }
 
+    /**
+     * Asks the coordinator for a supervisor and a new project cap, and sets the supervisor's project cap.
+     * The supervisor's projects are made available or unavailable to match the new cap.
+     */
+    public void changeProjectCap() {
+        String supervisorID = this.getSupervisorBoundary().chooseSupervisor();
+        int projectCap = this.getInt("Enter the new project cap of " + supervisorID + " (currently " + this.getSupervisorController().getProjectCap(supervisorID) + "):");
+        while (projectCap < 0) {
+            this.getOut().print("The project cap cannot be negative. ");
+            projectCap = this.getInt("Enter the new project cap of " + supervisorID + ":");
+        }
+        if (this.getSupervisorController().setProjectCap(supervisorID, projectCap)) {
+            this.getOut().println("The project cap of " + supervisorID + " is now " + projectCap);
+        } else {
+            this.getOut().println("No such supervisor.");
+        }
+    }
+
     /**
      * Display all menu choices that the Coordinator can make. <br>
      * Overrides displayMenuChoices from SupervisorBoundary.
@@ -211,7 +230,7 @@ public class CoordinatorBoundary extends SupervisorBoundary{
      */
     public void displayMenuChoices() {
         super.displayMenuChoices();
-        System.out.print(
+        this.getOut().print(
                 """
                         9. Process Supervisor Change Request
                         10.Process Project Allocation Request
@@ -220,7 +239,8 @@ public class CoordinatorBoundary extends SupervisorBoundary{
                         13.View projects by filter
                         14.Process all pending requests (De-registration and transfer supervisors)
                         15.View all requests
-                        16.Log out
+                        16.Change the project cap of a supervisor
+                        17.Log out
                         ========================================================================
                 """
         );
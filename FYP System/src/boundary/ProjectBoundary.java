@@ -31,17 +31,25 @@ public class ProjectBoundary extends BaseBoundary {
      * @param projectID The ID of the project to display
      */
     public void viewProjectLine(Integer projectID) {
-        Project project = this.getProjectController().getProjectByID(projectID);
+        this.viewProjectLine(this.getProjectController().getProjectByID(projectID));
+    }
+
+    /**
+     * Displays a single line of project information in the specific format
+     *
+     * @param project The project to display, which may be a read-only copy from a snapshot
+     */
+    public void viewProjectLine(Project project) {
         String supervisorName = this.getSupervisorController().getSupervisorByID(project.getSupervisorID()).getName();
         String projectStatus = ProjectController.statusCode2Text(project.getProjectStatus());
-        System.out.println("[" + project.getProjectID() + "]" + " | " + project.getProjectTitle() + " | " + supervisorName + " | " + projectStatus);
+        this.getOut().println("[" + project.getProjectID() + "]" + " | " + project.getProjectTitle() + " | " + supervisorName + " | " + projectStatus);
     }
 
     /**
      * Prints the project format header for display
      */
     public void printProjectFormat() {
-        System.out.println("[Project ID] | Project Title | Supervisor Name | Project Status");
+        this.getOut().println("[Project ID] | Project Title | Supervisor Name | Project Status");
     }
 
     /**
@@ -54,9 +62,9 @@ public class ProjectBoundary extends BaseBoundary {
         String newTitle = this.getLine("Input New Project Title: ");
         boolean success = this.getProjectController().modifyProjectTitle(projectID, newTitle, supervisorID);
         if (success) {
-            System.out.println("Project Title changed successfully.");
+            this.getOut().println("Project Title changed successfully.");
         } else {
-            System.out.println("Unable to change title as user not the creator of project.");
+            this.getOut().println("Unable to change title as user not the creator of project.");
         }
     }
 
@@ -67,25 +75,14 @@ public class ProjectBoundary extends BaseBoundary {
      * @param type         The type of projects to display (available or all)
      */
     public void viewProjectsBySupervisorID(String supervisorID, String type) {
-        ArrayList<Integer> projects = this.getProjectController().getProjects(type);
         if (Objects.equals(type, "available")) {
-            System.out.println("Available Projects:");
+            this.getOut().println("Available Projects:");
             this.printProjectFormat();
-            for (Integer projectID: projects) {
-                Project project = this.getProjectController().getProjectByID(projectID);
-                if (project.getProjectStatus() == 1 && Objects.equals(project.getSupervisorID(), supervisorID)) {
-                    this.viewProjectLine(projectID);
-                }
-            }
+            this.displayProjectsWithFilter(1, supervisorID);
         } else if (Objects.equals(type, "all")) {
-            System.out.println("All Projects:");
+            this.getOut().println("All Projects:");
             this.printProjectFormat();
-            for (Integer projectID: projects) {
-                Project project = this.getProjectController().getProjectByID(projectID);
-                if (Objects.equals(project.getSupervisorID(), supervisorID)) {
-                    this.viewProjectLine(projectID);
-                }
-            }
+            this.displayProjectsWithFilter(-3, supervisorID);
         }
     }
 
@@ -96,9 +93,8 @@ public class ProjectBoundary extends BaseBoundary {
      * @param supervisorID The ID of the supervisor to filter by
      */
     public void displayProjectsWithFilter(int status, String supervisorID) {
-        ArrayList<Integer> projectIDs = this.getProjectController().getProjectsByFilter(status, supervisorID);
-        for (int projectID: projectIDs) {
-            this.viewProjectLine(projectID);
+        for (Project project: this.getProjectController().getProjectSnapshot(status, supervisorID)) {
+            this.viewProjectLine(project);
         }
     }
     /**
@@ -108,22 +104,19 @@ public class ProjectBoundary extends BaseBoundary {
      * @param type a string that specifies the type of projects to display
      */
     public void viewProjects(String type) {
-        ArrayList<Integer> projects = this.getProjectController().getProjects(type);
+        ArrayList<Project> projects;
         if (Objects.equals(type, "available")) {
-            System.out.println("Available Projects:");
-            this.printProjectFormat();
-            for (Integer projectID: projects) {
-                Project project = this.getProjectController().getProjectByID(projectID);
-                if (project.getProjectStatus() == 1) {
-                    this.viewProjectLine(projectID);
-                }
-            }
+            projects = this.getProjectController().getProjectSnapshot(1, "!");
+            this.getOut().println("Available Projects:");
         } else if (Objects.equals(type, "all")) {
-            System.out.println("All Projects:");
-            this.printProjectFormat();
-            for (Integer projectID: projects) {
-                this.viewProjectLine(projectID);
-            }
+            projects = this.getProjectController().getProjectSnapshot(-3, "!");
+            this.getOut().println("All Projects:");
+        } else {
+            return;
+        }
+        this.printProjectFormat();
+        for (Project project: projects) {
+            this.viewProjectLine(project);
         }
     }
 }
@@ -1,9 +1,14 @@
 package boundary;
 import entity.CentralManager;
 import entity.Request;
+import entity.RequestStatus;
+import entity.RequestType;
+import entity.UpdateResult;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Request's application interface used by Student, Supervisor and Cooordinator to process and update requests.
@@ -26,7 +31,7 @@ public class RequestBoundary extends BaseBoundary {
      * Prints the request format.
      */
     public void printRequestFormat() {
-        System.out.println("[Type] | Requester | Request Date | Project ID | Status | Remarks");
+        this.getOut().println("[Type] | Requester | Request Date | Project ID | Status | Remarks");
     }
 
     /**
@@ -36,14 +41,14 @@ public class RequestBoundary extends BaseBoundary {
     public void displayRequestLine(Request request) {
         String requesteeName = this.getUserController().getUserByID(request.getRequesteeID()).getName();
         String remarks = "";
-        if (Objects.equals(request.getType(), "changeTitle")) {
+        if (request.getRequestType() == RequestType.CHANGE_TITLE) {
             remarks = "Change project title to " + request.getUpdatedValue();
-        } else if (Objects.equals(request.getType(), "changeSupervisor")) {
+        } else if (request.getRequestType() == RequestType.CHANGE_SUPERVISOR) {
             remarks = "Change supervisor to " + this.getUserController().getUserByID(request.getUpdatedValue()).getName();
         } else {
             remarks = "-";
         }
-        System.out.println("[" + request.getType() + "]" + " | " + requesteeName + " | " + request.getDate() + " | " + request.getProjectID() + " | " + request.getStatus() + " | " + remarks);
+        this.getOut().println("[" + request.getType() + "]" + " | " + requesteeName + " | " + request.getDate() + " | " + request.getProjectID() + " | " + request.getStatus() + " | " + remarks);
     }
 
     /**
@@ -54,17 +59,19 @@ public class RequestBoundary extends BaseBoundary {
     public boolean processRequest(Request request) {
         String decision = this.getLine("Approve request? Please enter 'Y' to approve request and 'N' to reject request, or 'B' to exit request processing. ");
         while (!(Objects.equals(decision, "Y") || Objects.equals(decision, "N") || Objects.equals(decision, "B"))) {
-            System.out.println("Please enter only 'Y' or 'N'. To exit request processing, please enter 'B'. ");
+            this.getOut().println("Please enter only 'Y' or 'N'. To exit request processing, please enter 'B'. ");
             decision = this.getLine("Approve request? Please enter 'Y' to approve request and 'N' to reject request. ");
         }
         if (decision.equals("B")) {
             return true;
         } else {
-            boolean _decision = this.getRequestController().processRequest(request, decision);
-            if (_decision) {
-                System.out.println("Request approved.");
+            UpdateResult result = this.getRequestController().processRequest(request, decision);
+            if (result == UpdateResult.CONFLICT) {
+                this.getOut().println("Request could not be processed as it or its project was changed by another user. Please review the request again.");
+            } else if (result.isApplied()) {
+                this.getOut().println("Request approved.");
             } else {
-                System.out.println("Request rejected.");
+                this.getOut().println("Request rejected.");
             }
             return false;
         }
@@ -80,7 +87,7 @@ public class RequestBoundary extends BaseBoundary {
         String projectID = this.getLine("Please enter projectID of project to request transfer for: ");
         String newSupervisorID = this.getCentralManager().getSupervisorBoundary().chooseSupervisor();
         this.getRequestController().requestTransfer(projectID, supervisorID, newSupervisorID);
-        System.out.println("Your Request has been submitted.");
+        this.getOut().println("Your Request has been submitted.");
     }
 
     /**
@@ -89,18 +96,34 @@ public class RequestBoundary extends BaseBoundary {
      */
     public void displayRequestsWithCounter(ArrayList<Request> requests) {
         for (int i = 0; i < requests.size(); i++) {
-            System.out.print("[" + (i + 1) + "] ");
+            this.getOut().print("[" + (i + 1) + "] ");
             this.displayRequestLine(requests.get(i));
         }
     }
 
+    /**
+     * Displays the requests of the given stream with a counter for each request, reading them as they are displayed, and closes the stream.
+     * @param requests the stream of Request objects to be displayed
+     * @return the number of requests displayed
+     */
+    public int displayRequestsWithCounter(Stream<Request> requests) {
+        int count = 0;
+        try (requests) {
+            for (Iterator<Request> it = requests.iterator(); it.hasNext(); ) {
+                this.getOut().print("[" + (++count) + "] ");
+                this.displayRequestLine(it.next());
+            }
+        }
+        return count;
+    }
+
     /**
      * Views the history of incoming requests for the given supervisor ID.
      * Displays the list of pending requests for the supervisor.
      * @param supervisorID the supervisor ID for whom the requests are to be viewed
      */
     public void viewIncomingRequestsHistory(String supervisorID) {
-        ArrayList<Request> requests = this.getRequestController().getRequestsBySupervisorID(supervisorID, "pending");
+        ArrayList<Request> requests = this.getRequestController().getRequestsBySupervisorID(supervisorID, RequestStatus.PENDING);
         this.displayRequestsWithCounter(requests);
     }
 
@@ -112,24 +135,36 @@ public class RequestBoundary extends BaseBoundary {
     public void viewRequestsHistory(ArrayList<Request> requests) {
         this.getRequestBoundary().printRequestFormat();
         if (requests.size() == 0) {
-            System.out.println("--None--");
+            this.getOut().println("--None--");
         } else {
             this.displayRequestsWithCounter(requests);
         }
     }
 
+    /**
+     * Views the history of requests for the given stream of Request objects, such as a history that includes archived requests.
+     * Displays the requests with a counter for each request as they are read.
+     * @param requests the stream of Request objects to be displayed
+     */
+    public void viewRequestsHistory(Stream<Request> requests) {
+        this.printRequestFormat();
+        if (this.displayRequestsWithCounter(requests) == 0) {
+            this.getOut().println("--None--");
+        }
+    }
+
     /**
      * Processes requests through a coordinator of a specific type.
      * @param type the type of coordinator to process requests through
      */
     public void processRequestsCoordinator(String type) {
-        System.out.println("Please choose a request to process:");
-        System.out.print("[Request Number] | ");
+        this.getOut().println("Please choose a request to process:");
+        this.getOut().print("[Request Number] | ");
         this.printRequestFormat();
         while (true) {
             ArrayList<Request> requests = this.getCoordinatorController().getSpecificRequestsPending(type);
             if (requests.size() == 0) {
-                System.out.println("No requests to process.");
+                this.getOut().println("No requests to process.");
                 return;
             }
             this.displayRequestsWithCounter(requests);
@@ -139,7 +174,7 @@ public class RequestBoundary extends BaseBoundary {
                 try{
                     requestIDX = Integer.parseInt(this.getLine("Please enter request number to process (Enter only numbers 1 to " + (requests.size()) + ") "));
                     while (!(requestIDX >= 1 && requestIDX < requests.size() + 1)) {
-                        System.out.print("Invalid request number. ");
+                        this.getOut().print("Invalid request number. ");
                         requestIDX = Integer.parseInt(this.getLine("Please enter request number to process (Enter only numbers 1 to " + (requests.size()) + ") "));
                     }
                     valid = false;
@@ -160,9 +195,8 @@ public class RequestBoundary extends BaseBoundary {
      * Displays all requests in the system.
      */
     public void viewAllRequests() {
-        System.out.println("Displaying all requests:");
-        ArrayList<Request> requests = this.getRequestController().getAllRequests();
-        this.displayRequestsWithCounter(requests);
+        this.getOut().println("Displaying all requests:");
+        this.displayRequestsWithCounter(this.getRequestController().getRequestHistory());
 
     }
 
@@ -171,13 +205,13 @@ public class RequestBoundary extends BaseBoundary {
      * @param supervisorID the ID of the supervisor
      */
     public void processRequestsSupervisor(String supervisorID) {
-        System.out.println("Please choose a request to process:");
-        System.out.print("[Request Number] | ");
+        this.getOut().println("Please choose a request to process:");
+        this.getOut().print("[Request Number] | ");
         this.printRequestFormat();
         while (true) {
-            ArrayList<Request> requests = this.getRequestController().getRequestsBySupervisorID(supervisorID, "pending");
+            ArrayList<Request> requests = this.getRequestController().getRequestsBySupervisorID(supervisorID, RequestStatus.PENDING);
             if (requests.size() == 0) {
-                System.out.println("No requests to process.");
+                this.getOut().println("No requests to process.");
                 return;
             }
             this.displayRequestsWithCounter(requests);
@@ -187,7 +221,7 @@ public class RequestBoundary extends BaseBoundary {
                 try{
                     requestIDX = Integer.parseInt(this.getLine("Please enter request number to process (Enter only numbers 1 to " + (requests.size()) + ") "));
                     while (!(requestIDX >= 1 && requestIDX < requests.size() + 1)) {
-                        System.out.print("Invalid request number. ");
+                        this.getOut().print("Invalid request number. ");
                         requestIDX = Integer.parseInt(this.getLine("Please enter request number to process (Enter only numbers 1 to " + (requests.size()) + ") "));
                     }
                     valid = false;
@@ -1,8 +1,6 @@
 package boundary;
 import entity.CentralManager;
-import entity.Request;
-
-import java.util.ArrayList;
+import entity.UpdateResult;
 
 /**
  * Student's application interface after logging in. Can only be viewed by a Student user.
@@ -25,7 +23,7 @@ public class StudentBoundary extends UserBoundary{
      */
     public void displayMenuChoices() {
 
-        System.out.println(
+        this.getOut().println(
                 """
                         ========================= Welcome to Student App =========================
                         1.  Change password
@@ -47,7 +45,7 @@ public class StudentBoundary extends UserBoundary{
     public void changePassword() {
         String newPassword = this.getLine("Please enter a new password:");
         this.getStudentController().setPassword(newPassword);
-        System.out.println("Your password has been successfully reset.");
+        this.getOut().println("Your password has been successfully reset.");
     }
 
     /**
@@ -55,13 +53,13 @@ public class StudentBoundary extends UserBoundary{
      */
     public void viewProjects() {
         if (this.getStudentController().getRegistered()){
-            System.out.println("You are currently allocated to a FYP and do not have access to available project list");
+            this.getOut().println("You are currently allocated to a FYP and do not have access to available project list");
         }
         else {
             if (this.getStudentController().getCurrentStudent().canRegister()) {
                 this.getProjectBoundary().viewProjects("available");
             } else {
-                System.out.println("You are not allowed to make selection again as you deregistered your FYP");
+                this.getOut().println("You are not allowed to make selection again as you deregistered your FYP");
             }
 
         }
@@ -75,7 +73,7 @@ public class StudentBoundary extends UserBoundary{
             int projectID = this.getStudentController().getRegisteredProject();
             this.getProjectBoundary().viewProjectLine(projectID);
         } else {
-            System.out.println("You are not registered in any project. Unable to view registered project.");
+            this.getOut().println("You are not registered in any project. Unable to view registered project.");
         }
     }
 
@@ -83,8 +81,7 @@ public class StudentBoundary extends UserBoundary{
      * Displays the request history of the current student user by getting the list of requests from the StudentController and passing it to the RequestBoundary.
      */
     public void viewRequestHistory() {
-        ArrayList<Request> requests = this.getStudentController().getRequestsHistory();
-        this.getRequestBoundary().viewRequestsHistory(requests);
+        this.getRequestBoundary().viewRequestsHistory(this.getStudentController().getRequestsHistory());
     }
 
     /**
@@ -96,22 +93,26 @@ public class StudentBoundary extends UserBoundary{
         this.viewProjects();
         String studentID = this.getStudentController().getCurrentStudent().getId();
         if (this.getRequestController().checkPendingProjectRequest(studentID)) {
-            System.out.println("Existing project allocation request is pending processing. Please wait for the current one to be processed before submitting another request. Current request:");
+            this.getOut().println("Existing project allocation request is pending processing. Please wait for the current one to be processed before submitting another request. Current request:");
         } else {
             if (!this.getStudentController().getRegistered()) {
                 if (this.getStudentController().getCurrentStudent().canRegister()) {
                     String projectID = this.getLine("Please enter the projectID you would like to be allocated to: ");
                     while (!this.getProjectController().validateAvailProjectID(Integer.parseInt(projectID))) {
-                        System.out.print("Invalid project id. ");
+                        this.getOut().print("Invalid project id. ");
                         projectID = this.getLine("Please enter the projectID you would like to be allocated to: ");
                     }
-                    this.getStudentController().requestAllocation(Integer.valueOf(projectID), this.getStudentController().getCurrentStudent().getId());
-                    System.out.println("Your request has been submitted");
+                    UpdateResult result = this.getStudentController().requestAllocation(Integer.valueOf(projectID), this.getStudentController().getCurrentStudent().getId());
+                    if (result == UpdateResult.CONFLICT) {
+                        this.getOut().println("The project is no longer available as another user reserved it first. Please choose another project.");
+                    } else {
+                        this.getOut().println("Your request has been submitted");
+                    }
                 } else {
-                    System.out.println("You are not allowed to make selection again as you deregistered your FYP");
+                    this.getOut().println("You are not allowed to make selection again as you deregistered your FYP");
                 }
             } else {
-                System.out.println("You are currently allocated to a FYP and do not have access to available project list");
+                this.getOut().println("You are currently allocated to a FYP and do not have access to available project list");
             }
         }
     }
@@ -124,9 +125,9 @@ public class StudentBoundary extends UserBoundary{
         if (this.getStudentController().getRegistered()) {
             String newProjectTitle = this.getLine("Enter your new project title: ");
             this.getStudentController().requestChangeTitle(newProjectTitle, this.getStudentController().getCurrentStudent().getId(), this.getStudentController().getRegisteredProject().toString());
-            System.out.println("Your title change request has been submitted");
+            this.getOut().println("Your title change request has been submitted");
         } else {
-            System.out.println("You are not registered in any project. Unable to change title.");
+            this.getOut().println("You are not registered in any project. Unable to change title.");
         }
     }
 
@@ -136,10 +137,10 @@ public class StudentBoundary extends UserBoundary{
      */
     public void requestDeallocation() {
         if (this.getStudentController().getCurrentStudent().getRegistered()){
-            System.out.println("Your deallocation request has been submitted");
+            this.getOut().println("Your deallocation request has been submitted");
             this.getStudentController().requestDeAllocation(this.getStudentController().getRegisteredProject().toString(), this.getStudentController().getCurrentStudent().getId());
         } else{
-            System.out.println("You are not registered in any project. Please try again!");
+            this.getOut().println("You are not registered in any project. Please try again!");
         }
     }
 
@@ -155,7 +156,7 @@ public class StudentBoundary extends UserBoundary{
             this.displayMenuChoices();
             choice = this.getInt("Enter your choice:");
             if (choice < 1 | choice > 8) {
-                System.out.println("Enter choice between 1-8 values only");
+                this.getOut().println("Enter choice between 1-8 values only");
                 continue;
             }
             switch (choice) {
@@ -166,7 +167,7 @@ public class StudentBoundary extends UserBoundary{
                 case 5 -> this.viewRequestHistory();
                 case 6 -> this.requestChangeTitle();
                 case 7 -> this.requestDeallocation();
-                case 8 -> System.out.println("Logging out...");
+                case 8 -> this.getOut().println("Logging out...");
             }
         }
     }
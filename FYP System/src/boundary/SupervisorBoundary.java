@@ -26,7 +26,7 @@ public class SupervisorBoundary extends UserBoundary {
      * Displays the menu choices for the supervisor operations.
      */
     public void displayMenuChoices() {
-        System.out.print(
+        this.getOut().print(
                 """
                         1.  Reset Password
                         2.  Create Project
@@ -47,19 +47,19 @@ public class SupervisorBoundary extends UserBoundary {
     public void supervisorOperations() {
         int choice = 0;
         while (choice != 9) {
-            System.out.print(
+            this.getOut().print(
                 """
                         ========================= Welcome to Supervisor App =========================
                 """
             );
             this.displayMenuChoices();
-            System.out.println("""
+            this.getOut().println("""
                             9.  Log out
                             ========================================================================
                     """);
             choice = this.getInt("Enter your choice: ");
             if (choice < 1 | choice > 9) {
-                System.out.println("Enter choice between 1-9 values only: ");
+                this.getOut().println("Enter choice between 1-9 values only: ");
                 continue;
             }
             switch (choice) {
@@ -71,7 +71,7 @@ public class SupervisorBoundary extends UserBoundary {
                 case 6 -> this.requestProjectTransfer();
                 case 7 -> this.viewIncomingRequestHistory();
                 case 8 -> this.viewOutgoingRequestHistory();
-                case 9 -> System.out.println("Logging out...");
+                case 9 -> this.getOut().println("Logging out...");
             }
         }
     }
@@ -81,7 +81,7 @@ public class SupervisorBoundary extends UserBoundary {
     public void changePassword() {
         String newPassword = this.getLine("Please enter a new password: ");
         this.getSupervisorController().setPassword(newPassword);
-        System.out.println("Your password has been successfully reset.");
+        this.getOut().println("Your password has been successfully reset.");
     }
     /**
      * Creates a project with the specified project title.
@@ -91,14 +91,14 @@ public class SupervisorBoundary extends UserBoundary {
 
         this.getSupervisorController().createProject(projectTitle);
 
-        System.out.println("Project created successfully.");
+        this.getOut().println("Project created successfully.");
     }
     /**
      * Displays a list of submitted projects.
      */
     public void viewSubmittedProjects() {
         ArrayList<Project> projects = this.getSupervisorController().getSubmittedProjects();
-        System.out.println("Submitted Projects:");
+        this.getOut().println("Submitted Projects:");
         this.getProjectBoundary().printProjectFormat();
         for (Project project: projects) {
             this.getProjectBoundary().viewProjectLine(project.getProjectID());
@@ -129,7 +129,7 @@ public class SupervisorBoundary extends UserBoundary {
      */
     public void viewIncomingRequestHistory() {
         ArrayList<Request> requests = this.getSupervisorController().getIncomingRequests();
-        System.out.println("Incoming requests:");
+        this.getOut().println("Incoming requests:");
         this.getRequestBoundary().viewRequestsHistory(requests);
     }
     /**
@@ -137,24 +137,23 @@ public class SupervisorBoundary extends UserBoundary {
      */
     public void viewOutgoingRequestHistory() {
         String supervisorID = this.getSupervisorController().getCurrentSupervisor().getId();
-        ArrayList<Request> requests = this.getRequestController().getRequestsByUserID(supervisorID);
-        System.out.println("Outgoing requests:");
-        this.getRequestBoundary().viewRequestsHistory(requests);
+        this.getOut().println("Outgoing requests:");
+        this.getRequestBoundary().viewRequestsHistory(this.getRequestController().getRequestHistoryByUserID(supervisorID));
     }
     /**
      * Allows the supervisor to choose a supervisor from a list of supervisors.
      * @return A string representing the ID of the chosen supervisor.
      */
     public String chooseSupervisor() {
-        System.out.println("List of supervisors:");
-        System.out.print("[Supervisor ID]: Supervisor Name");
+        this.getOut().println("List of supervisors:");
+        this.getOut().print("[Supervisor ID]: Supervisor Name");
         ArrayList<Supervisor> supervisorList = this.getSupervisorController().getSupervisorList();
         for (Supervisor supervisor: supervisorList) {
-            System.out.println("[" + supervisor.getId() + "]" + ": " + supervisor.getName());
+            this.getOut().println("[" + supervisor.getId() + "]" + ": " + supervisor.getName());
         }
         String newSupervisorID = this.getLine("Please enter supervisorID of the chosen supervisor: ");
         while (!this.getSupervisorController().supervisorInList(newSupervisorID, supervisorList)) {
-            System.out.print("SupervisorID is invalid. ");
+            this.getOut().print("SupervisorID is invalid. ");
             newSupervisorID = this.getLine("Please enter supervisorID of the chosen supervisor: ");
         }
         return newSupervisorID;
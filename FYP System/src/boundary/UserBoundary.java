@@ -20,15 +20,16 @@ public class UserBoundary extends BaseBoundary{
     /**
      * Displays the login screen and allows users to enter their credentials to log in to the system.
      * Directs users to their respective screens based on their user type.
+     * @return true once the user has logged out and the login screen should be shown again, false if the user chose to exit
      */
-    public void login(){
+    public boolean login(){
         int choice = this.getInt("""
                 Welcome to login screen. Please enter either '1' or '2':
                 1) Login
                 2) Exit
                 """);
         while (!(choice == 1 || choice == 2)) {
-            System.out.println("Invalid integer entered. Please try again.");
+            this.getOut().println("Invalid integer entered. Please try again.");
             choice = this.getInt("""
                 Welcome to login screen. Please enter either '1' or '2':
                 1) Login
@@ -40,29 +41,30 @@ public class UserBoundary extends BaseBoundary{
             String password = this.getLine("Input Password: ");
             String userType = this.getUserController().login(userID, password);
             while (Objects.equals(userType, "InvalidUser")) {
-                System.out.println("UserID or Password was invalid. Please try again.");
+                this.getOut().println("UserID or Password was invalid. Please try again.");
                 userID = this.getLine("Input UserID: ");
                 password = this.getLine("Input Password: ");
                 userType = this.getUserController().login(userID, password);
             }
 
             if (Objects.equals(userType, "Student")){
-                System.out.println("Directing to student screen...");
+                this.getOut().println("Directing to student screen...");
                 this.getStudentController().setCurrentUser(userID);
                 this.getStudentBoundary().studentOperations();
             }
             else if (Objects.equals(userType, "Supervisor")) {
-                System.out.println("Directing to supervisor screen...");
+                this.getOut().println("Directing to supervisor screen...");
                 this.getSupervisorController().setCurrentUser(userID);
                 this.getSupervisorBoundary().supervisorOperations();
             }
             else if (Objects.equals(userType, "Coordinator")) {
-                System.out.println("Directing to Coordinator screen...");
+                this.getOut().println("Directing to Coordinator screen...");
                 this.getCoordinatorController().setCurrentUser(userID);
                 this.getCoordinatorBoundary().coordinatorOperations();
             }
+            return true;
         } else {
-            System.exit(0);
+            return false;
         }
     }
 
@@ -1,10 +1,17 @@
 package controller;
 
 import entity.CentralManager;
+import entity.ChangeSet;
+import entity.MutationLoop;
 import utils.Base;
+import utils.LockStripes;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 /**
  * The BaseController class is the base class for all controllers in the system.
  * It extends the Base class and provides access to the CentralManager object.
+ * Methods that change data run inside mutate, under the lock stripes of the keys they touch.
  * @author Esther Teo Gek Wat
  * @version 1.0
  * @since 2023-04-15
@@ -23,4 +30,97 @@ public class BaseController extends Base {
         super(centralManager);
         this.centralManager = centralManager;
     }
+    /**
+     * Runs an operation that changes data while holding the state lock in shared mode and the stripes of the given keys.
+     * @param operation the operation to run
+     * @param keys the project IDs and user IDs the operation touches
+     */
+    protected void mutate(Runnable operation, Object... keys) {
+        this.mutate(() -> {
+            operation.run();
+            return null;
+        }, keys);
+    }
+    /**
+     * Runs an operation that changes data and returns a result while holding the state lock in shared mode and the stripes of the given keys.
+     * @param operation the operation to run
+     * @param keys the project IDs and user IDs the operation touches
+     * @param <T> the type of the result
+     * @return the result of the operation
+     */
+    protected <T> T mutate(Supplier<T> operation, Object... keys) {
+        return this.mutateKeyed(() -> keys, operation);
+    }
+    /**
+     * Runs an operation that changes data and returns a result while holding the state lock in shared mode and the stripes of
+     * keys that are read from the data itself, such as the supervisor of a project.
+     * The keys are read before the stripes are locked and again afterwards; if they moved to a stripe that is not held in the
+     * meantime, the stripes are released and locked again for the new keys.
+     * With a MutationLoop, the operation is applied by its writer thread and the keys are not needed.
+     * @param keys the supplier of the project IDs and user IDs the operation touches
+     * @param operation the operation to run
+     * @param <T> the type of the result
+     * @return the result of the operation
+     */
+    protected <T> T mutateKeyed(Supplier<Object[]> keys, Supplier<T> operation) {
+        MutationLoop mutationLoop = this.centralManager.getMutationLoop();
+        if (mutationLoop != null) {
+            return mutationLoop.isWriterThread() ? operation.get() : mutationLoop.submit(operation);
+        }
+        Lock lock = this.centralManager.getStateLock().readLock();
+        LockStripes lockStripes = this.centralManager.getLockStripes();
+        lock.lock();
+        try {
+            this.centralManager.checkWritable();
+            boolean outermost = ChangeSet.begin();
+            try {
+                while (true) {
+                    int[] stripes = lockStripes.stripesOf(keys.get());
+                    lockStripes.lock(stripes);
+                    try {
+                        if (lockStripes.isHeldByCurrentThread(lockStripes.stripesOf(keys.get()))) {
+                            return this.apply(operation, outermost);
+                        }
+                    } finally {
+                        lockStripes.unlock(stripes);
+                    }
+                }
+            } finally {
+                if (outermost) {
+                    ChangeSet.abort();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Runs an operation whose stripes are held and, if it is the outermost one on the thread, commits its ChangeSet.
+     * If the operation throws after changing data, or the commit fails, the CentralManager is told to stop accepting changes,
+     * since those changes are in memory but will not be replayed from the journal.
+     * @param operation the operation to run
+     * @param outermost whether the operation began the ChangeSet of the thread
+     * @param <T> the type of the result
+     * @return the result of the operation
+     */
+    private <T> T apply(Supplier<T> operation, boolean outermost) {
+        T result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException | Error e) {
+            if (outermost && ChangeSet.abort()) {
+                this.centralManager.failed(e);
+            }
+            throw e;
+        }
+        if (outermost) {
+            try {
+                ChangeSet.commit();
+            } catch (RuntimeException | Error e) {
+                this.centralManager.failed(e);
+                throw e;
+            }
+        }
+        return result;
+    }
 }
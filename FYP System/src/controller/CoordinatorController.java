@@ -3,6 +3,8 @@ package controller;
 import entity.CentralManager;
 import entity.Coordinator;
 import entity.Request;
+import entity.RequestStatus;
+import entity.RequestType;
 import entity.Supervisor;
 
 import java.util.ArrayList;
@@ -33,16 +35,7 @@ public class CoordinatorController extends SupervisorController{
      * @return coordinator object of current user.
      */
     public Coordinator getCurrentCoordinator() {
-        return (Coordinator) this.currentUser;
-    }
-
-    /**
-     * Set method to set the current user object to the user object of the userID provided.
-     * @param userID userID of the user object
-     */
-    public void setCurrentUser(String userID) {
-        this.getSupervisorController().setCurrentUser(userID);
-        this.currentUser = this.getUserByID(userID);
+        return (Coordinator) this.getCurrentUser();
     }
 
     /**
@@ -52,7 +45,7 @@ public class CoordinatorController extends SupervisorController{
      * @return ArrayList of all request with the type specified
      */
     public ArrayList<Request> getSpecificRequestsAll(String type) {
-        return this.getRequestController().getRequestByType(type, "all");
+        return this.getRequestController().getRequestByType(this.toRequestType(type), null);
     }
 
     /**
@@ -62,7 +55,20 @@ public class CoordinatorController extends SupervisorController{
      * @return ArrayList of all request with the type specified which are pending
      */
     public ArrayList<Request> getSpecificRequestsPending(String type) {
-        return this.getRequestController().getRequestByType(type, "pending");
+        return this.getRequestController().getRequestByType(this.toRequestType(type), RequestStatus.PENDING);
+    }
+
+    /**
+     * Converts the request type chosen in the coordinator menu into a RequestType.
+     *
+     * @param type type of request, or "all" for every type
+     * @return the matching RequestType, or null for "all"
+     */
+    private RequestType toRequestType(String type) {
+        if (type.equals("all")) {
+            return null;
+        }
+        return RequestType.fromText(type);
     }
 
 
@@ -2,9 +2,16 @@ package controller;
 
 import entity.CentralManager;
 import entity.Project;
+import entity.ProjectStatus;
+import entity.ProjectStore;
+import entity.Student;
+import entity.UpdateResult;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 /**
  * The ProjectController class manages the creation, modification, and retrieval of Project objects, as well as the assignment of projects to students and supervisors.
@@ -14,9 +21,9 @@ import java.util.Objects;
  */
 public class ProjectController extends BaseController {
     /**
-     * The list of projects managed by the system.
+     * The store that indexes the projects by project ID.
      */
-    ArrayList<Project> masterProjects;
+    ProjectStore projectStore;
 
     /**
      * Constructs a ProjectController object with a reference to a CentralManager object.
@@ -25,7 +32,7 @@ public class ProjectController extends BaseController {
      */
     public ProjectController(CentralManager centralManager) {
         super(centralManager);
-        this.masterProjects = this.getCentralManager().getMasterProjects();
+        this.projectStore = this.getCentralManager().getProjectStore();
     }
 
     /**
@@ -36,13 +43,7 @@ public class ProjectController extends BaseController {
      */
     // all the projs created by supervisor
     public ArrayList<Project> getSubmittedProjects(String supervisorID) {
-        ArrayList<Project> projects = new ArrayList<>();
-        for (Project project: this.masterProjects) {
-            if (Objects.equals(project.getCreatedBy(), supervisorID)) {
-                projects.add(project);
-            }
-        }
-        return projects;
+        return this.projectStore.getProjectsByCreator(supervisorID);
     }
 
     /**
@@ -51,12 +52,14 @@ public class ProjectController extends BaseController {
      * @param supervisorID the ID of the supervisor
      */
     public void setUnavailableProjects(String supervisorID) {
-        ArrayList<Project> projects = this.getProjectsBySupervisorID(supervisorID);
-        for (Project _project: projects) {
-            if (_project.getProjectStatus() != -1) {
-                _project.setProjectStatus(-2);
+        this.mutate(() -> {
+            ArrayList<Project> projects = this.getProjectsBySupervisorID(supervisorID);
+            for (Project _project: projects) {
+                if (_project.getStatus() != ProjectStatus.ALLOCATED) {
+                    _project.setProjectStatus(ProjectStatus.UNAVAILABLE);
+                }
             }
-        }
+        }, supervisorID);
     }
 
     /**
@@ -65,12 +68,14 @@ public class ProjectController extends BaseController {
      * @param supervisorID the ID of the supervisor
      */
     public void setAvailableProjects(String supervisorID) {
-        ArrayList<Project> projects = this.getProjectsBySupervisorID(supervisorID);
-        for (Project _project: projects) {
-            if (_project.getProjectStatus() == -2) {
-                _project.setProjectStatus(1);
+        this.mutate(() -> {
+            ArrayList<Project> projects = this.getProjectsBySupervisorID(supervisorID);
+            for (Project _project: projects) {
+                if (_project.getStatus() == ProjectStatus.UNAVAILABLE) {
+                    _project.setProjectStatus(ProjectStatus.AVAILABLE);
+                }
             }
-        }
+        }, supervisorID);
     }
 
     /**
@@ -80,32 +85,69 @@ public class ProjectController extends BaseController {
      * @return true if the project is available, false otherwise
      */
     public boolean validateAvailProjectID(Integer projectID) {
-        ArrayList<Integer> projectIDs = this.getProjects("available");
-        for (Integer project_id: projectIDs) {
-            if (Objects.equals(project_id, projectID)) {
-                return true;
-            }
-        }
-        return false;
+        Project project = this.getProjectByID(projectID);
+        return project != null && project.getStatus() == ProjectStatus.AVAILABLE;
     }
 
     /**
      * Assigns a project to a student and updates its status accordingly.
+     * The project must not be allocated, the student must not be registered for a project and the supervisor must be below
+     * the project cap, otherwise another session got there first and the assignment fails with a conflict.
      *
      * @param projectID the ID of the project to assign
      * @param studentID the ID of the student to assign the project to
-     * @return true if the project's supervisor has reached their maximum allowed number of projects to supervise, false otherwise
+     * @return CAP_REACHED if the project's supervisor has now reached their maximum allowed number of projects to supervise,
+     * APPLIED if not, or CONFLICT if the project could not be assigned
      */
-    public boolean assignProject(Integer projectID, String studentID) {
+    public UpdateResult assignProject(Integer projectID, String studentID) {
         Project project = this.getProjectByID(projectID);
-        project.setProjectStatus(-1);
-        project.setStudentID(studentID);
-        this.getStudentController().assignProject(studentID, projectID);
-        boolean capReached = this.getSupervisorController().reachedProjectCap(project.getSupervisorID());
-        if (capReached) {
-            this.setUnavailableProjects(project.getSupervisorID());
+        Student student = this.getStudentController().getStudentByID(studentID);
+        if (project == null || student == null) {
+            return UpdateResult.CONFLICT;
         }
-        return capReached;
+        BooleanSupplier valid = () -> project.getStatus() != ProjectStatus.ALLOCATED && !student.getRegistered()
+                && !this.getSupervisorController().reachedProjectCap(project.getSupervisorID());
+        return this.applyIfValid(this.lockKeys(projectID, studentID), valid, () -> {
+            project.setProjectStatus(ProjectStatus.ALLOCATED);
+            project.setStudentID(studentID);
+            this.getStudentController().assignProject(studentID, projectID);
+            boolean capReached = this.getSupervisorController().reachedProjectCap(project.getSupervisorID());
+            if (capReached) {
+                this.setUnavailableProjects(project.getSupervisorID());
+            }
+            return capReached ? UpdateResult.CAP_REACHED : UpdateResult.APPLIED;
+        });
+    }
+
+    /**
+     * Applies a change under the locks of the given keys if it is still valid once they are held, so that a change decided
+     * on an earlier read fails with a conflict when another session got to the project or student first.
+     *
+     * @param keys the supplier of the keys the change locks
+     * @param valid whether the change is valid on the current state of the project and student
+     * @param change the change to apply, returning its result
+     * @return the result of the change, or CONFLICT if it was not applied
+     */
+    private UpdateResult applyIfValid(Supplier<Object[]> keys, BooleanSupplier valid, Supplier<UpdateResult> change) {
+        return this.mutateKeyed(keys, () -> valid.getAsBoolean() ? change.get() : UpdateResult.CONFLICT);
+    }
+
+    /**
+     * Returns the keys an operation on a project locks: the project ID, the ID of the project's current supervisor and any other
+     * keys the operation touches. The supervisor is read again each time the keys are asked for, so that an operation waiting
+     * for the locks notices when the project has moved to another supervisor in the meantime.
+     *
+     * @param projectID the ID of the project
+     * @param others the other project IDs and user IDs the operation touches
+     * @return a supplier of the keys to lock
+     */
+    public Supplier<Object[]> lockKeys(Integer projectID, Object... others) {
+        return () -> {
+            Object[] keys = Arrays.copyOf(others, others.length + 2);
+            keys[others.length] = projectID;
+            keys[others.length + 1] = this.getSupervisorIDFromProjectID(projectID);
+            return keys;
+        };
     }
 
     /**
@@ -115,8 +157,11 @@ public class ProjectController extends BaseController {
      * @param newTitle the new title of the project
      */
     public void changeTitle(Integer projectID, String newTitle) {
-        Project project = this.getProjectByID(projectID);
-        project.setProjectTitle(newTitle);
+        this.mutateKeyed(this.lockKeys(projectID), () -> {
+            Project project = this.getProjectByID(projectID);
+            project.setProjectTitle(newTitle);
+            return null;
+        });
     }
 
     /**
@@ -124,73 +169,97 @@ public class ProjectController extends BaseController {
      *
      * @param status the status of the projects to filter by
      * @param supervisorID the ID of the supervisor to filter by
-     * @return an ArrayList of project IDs that match the given status and supervisor
+     * @return an array of project IDs that match the given status and supervisor
      */
-    public ArrayList<Integer> getProjectsByFilter(int status, String supervisorID) {
-        ArrayList<Integer> projectIDs = new ArrayList<>();
-        for (Project project: this.masterProjects) {
-            if (status != -3) { // filter by status
-                if (!Objects.equals(supervisorID, "!")) { // filter by project, "!" denotes all supervisors
-                    if (project.getProjectStatus() == status && Objects.equals(project.getSupervisorID(), supervisorID)) { // filter by status & project
-                        projectIDs.add(project.getProjectID());
-                    }
-                } else { // don't filter by supervisor
-                    if (project.getProjectStatus() == status) { // filter by status only
-                        projectIDs.add(project.getProjectID());
-                    }
-                }
-            } else { // don't filter by status
-                if (!Objects.equals(supervisorID, "!")) { // filter by supervisorID
-                    if (Objects.equals(project.getSupervisorID(), supervisorID)) { // filter by supervisorID only
-                        projectIDs.add(project.getProjectID());
-                    }
-                } else { // don't filter by anything
-                    projectIDs.add(project.getProjectID());
-                }
+    public int[] getProjectsByFilter(int status, String supervisorID) {
+        if (Objects.equals(supervisorID, "!")) { // "!" denotes all supervisors
+            supervisorID = null;
+        }
+        if (status == -3) { // -3 denotes all statuses
+            return this.projectStore.getProjectIDs(null, supervisorID);
+        }
+        return this.projectStore.getProjectIDs(ProjectStatus.fromCode(status), supervisorID);
+    }
+
+    /**
+     * Returns read-only copies of the projects matching a chosen filter, as they were after the last operation that changed them.
+     * The copies come from a point-in-time snapshot, so a long listing shows every project consistently without waiting for
+     * or holding up the sessions that keep changing projects.
+     *
+     * @param status the status of the projects to filter by, or -3 for all statuses
+     * @param supervisorID the ID of the supervisor to filter by, or "!" for all supervisors
+     * @return an ArrayList of read-only copies of the projects that match the given status and supervisor, in order of project ID
+     */
+    public ArrayList<Project> getProjectSnapshot(int status, String supervisorID) {
+        ProjectStatus projectStatus = status == -3 ? null : ProjectStatus.fromCode(status);
+        ArrayList<Project> projects = new ArrayList<>();
+        for (Project project: this.projectStore.snapshot()) {
+            if ((projectStatus == null || project.getStatus() == projectStatus)
+                    && (Objects.equals(supervisorID, "!") || Objects.equals(project.getSupervisorID(), supervisorID))) {
+                projects.add(project);
             }
         }
-        return projectIDs;
+        return projects;
     }
 
     /**
      * Changes the supervisor of a project.
+     * The project must still be supervised by the old supervisor, and if it is allocated the new supervisor must be below the
+     * project cap, otherwise another session got there first and the change fails with a conflict.
      *
      * @param projectID the ID of the project to modify
+     * @param oldSupervisorID the ID of the supervisor the project is transferred from
      * @param newSupervisorID the ID of the new supervisor
-     * @return true if the new supervisor has reached their maximum allowed number of projects to supervise, false otherwise
+     * @return CAP_REACHED if the new supervisor has now reached their maximum allowed number of projects to supervise,
+     * APPLIED if not, or CONFLICT if the supervisor could not be changed
      */
-    public boolean changeSupervisor(Integer projectID, String newSupervisorID) {
+    public UpdateResult changeSupervisor(Integer projectID, String oldSupervisorID, String newSupervisorID) {
         Project project = this.getProjectByID(projectID);
-        String oldSupervisorID = project.getSupervisorID();
-        project.setSupervisorID(newSupervisorID);
-        boolean oldCapReached = this.getSupervisorController().reachedProjectCap(oldSupervisorID);
-        if (!oldCapReached) {
-            this.setAvailableProjects(oldSupervisorID);
+        if (project == null) {
+            return UpdateResult.CONFLICT;
         }
-        boolean newCapReached = this.getSupervisorController().reachedProjectCap(newSupervisorID);
-        if (newCapReached) {
-            this.setUnavailableProjects(newSupervisorID);
-        }
-        return newCapReached;
+        BooleanSupplier valid = () -> Objects.equals(project.getSupervisorID(), oldSupervisorID)
+                && (project.getStatus() != ProjectStatus.ALLOCATED || !this.getSupervisorController().reachedProjectCap(newSupervisorID));
+        return this.applyIfValid(this.lockKeys(projectID, newSupervisorID), valid, () -> {
+            project.setSupervisorID(newSupervisorID);
+            boolean oldCapReached = this.getSupervisorController().reachedProjectCap(oldSupervisorID);
+            if (!oldCapReached) {
+                this.setAvailableProjects(oldSupervisorID);
+            }
+            boolean newCapReached = this.getSupervisorController().reachedProjectCap(newSupervisorID);
+            if (newCapReached) {
+                this.setUnavailableProjects(newSupervisorID);
+            }
+            return newCapReached ? UpdateResult.CAP_REACHED : UpdateResult.APPLIED;
+        });
     }
 
     /**
      * Unassigns a project from a student and updates its status accordingly.
+     * The project must still be allocated to the student, otherwise another session got there first and the change fails with a conflict.
      *
      * @param projectID the ID of the project to unassign
      * @param studentID the ID of the student to unassign the project from
-     * @return true if the project's supervisor has reached their maximum allowed number of projects to supervise, false otherwise
+     * @return CAP_REACHED if the project's supervisor is still at their maximum allowed number of projects to supervise,
+     * APPLIED if not, or CONFLICT if the project could not be unassigned
      */
-    public boolean unassignProject(Integer projectID, String studentID) {
+    public UpdateResult unassignProject(Integer projectID, String studentID) {
         Project project = this.getProjectByID(projectID);
-        project.setProjectStatus(1);
-        project.setStudentID("\"\"");
-        this.getStudentController().unAssignProject(studentID);
-        boolean capReached = this.getSupervisorController().reachedProjectCap(project.getSupervisorID());
-        if (!capReached) {
-            this.setAvailableProjects(project.getSupervisorID());
+        Student student = this.getStudentController().getStudentByID(studentID);
+        if (project == null || student == null) {
+            return UpdateResult.CONFLICT;
         }
-        return capReached;
+        BooleanSupplier valid = () -> project.getStatus() == ProjectStatus.ALLOCATED && Objects.equals(project.getStudentID(), studentID);
+        return this.applyIfValid(this.lockKeys(projectID, studentID), valid, () -> {
+            project.setProjectStatus(ProjectStatus.AVAILABLE);
+            project.setStudentID("\"\"");
+            this.getStudentController().unAssignProject(studentID);
+            boolean capReached = this.getSupervisorController().reachedProjectCap(project.getSupervisorID());
+            if (!capReached) {
+                this.setAvailableProjects(project.getSupervisorID());
+            }
+            return capReached ? UpdateResult.CAP_REACHED : UpdateResult.APPLIED;
+        });
     }
     /**
     * Returns the supervisor ID associated with a given project ID.
@@ -198,12 +267,11 @@ public class ProjectController extends BaseController {
     * @return the supervisor ID associated with the given project ID, or null if no such project exists
      */
     public String getSupervisorIDFromProjectID(Integer projectID) {
-        for (Project project: this.masterProjects) {
-            if (project.getProjectID() == projectID) {
-                return project.getSupervisorID();
-            }
+        Project project = this.getProjectByID(projectID);
+        if (project == null) {
+            return null;
         }
-        return null;
+        return project.getSupervisorID();
     }
 
     /**
@@ -214,12 +282,14 @@ public class ProjectController extends BaseController {
      * @return true if the project title was successfully modified, false otherwise
      */
     public boolean modifyProjectTitle(Integer projectID, String newTitle, String supervisorID) {
-        Project project = this.getProjectByID(projectID);
-        if (Objects.equals(project.getCreatedBy(), supervisorID)) { // this check will only allow the supervisor who created that project to modify its title
-            project.setProjectTitle(newTitle);
-            return true;
-        }
-        return false;
+        return this.mutateKeyed(this.lockKeys(projectID), () -> {
+            Project project = this.getProjectByID(projectID);
+            if (Objects.equals(project.getCreatedBy(), supervisorID)) { // this check will only allow the supervisor who created that project to modify its title
+                project.setProjectTitle(newTitle);
+                return true;
+            }
+            return false;
+        });
     }
     /**
      * Returns the text representation of a given project status code.
@@ -227,39 +297,26 @@ public class ProjectController extends BaseController {
      * @return the text representation of the given project status code
      */
     public static String statusCode2Text(int statusCode) {
-        if (statusCode == 1) {
-            return "available";
-        } else if (statusCode == 0) {
-            return "reserved";
-        } else if (statusCode == -1) {
-            return "allocated";
-        } else {
-            return "unavailable";
-        }
+        return ProjectStatus.fromCode(statusCode).getText();
     }
     /**
      * Returns the next available project ID.
      * @return the next available project ID
      */
     public int nextProjectID(){
-        int projectID = 0;
-        for (Project project: this.masterProjects) {
-            if (project.getProjectID() > projectID) {
-                projectID = project.getProjectID();
-            }
-        }
-
-        return projectID + 1;
+        return this.projectStore.nextProjectID();
     }
     /**
     * Creates a new project with the given parameters and adds it to the system.
     * @param supervisorID the ID of the supervisor who will be responsible for the new project
     * @param projectTitle the title of the new project
-    * @param status the status code of the new project
+    * @param status the status of the new project
      */
-    public void createProject(String supervisorID, String projectTitle, int status) {
-        Project project = new Project(this.nextProjectID(), supervisorID, "\"\"", projectTitle, status, supervisorID);
-        this.masterProjects.add(project);
+    public void createProject(String supervisorID, String projectTitle, ProjectStatus status) {
+        this.mutate(() -> {
+            Project project = new Project(this.projectStore.reserveProjectID(), supervisorID, "\"\"", projectTitle, status, supervisorID);
+            this.projectStore.add(project);
+        }, supervisorID);
     }
     /**
      * Returns the project with the given ID.
@@ -267,12 +324,10 @@ public class ProjectController extends BaseController {
      * @return the project with the given ID, or null if no such project exists
      */
     public Project getProjectByID(Integer projectID) {
-        for (Project project: this.masterProjects) {
-            if (Objects.equals(project.getProjectID(), projectID)) {
-                return project;
-            }
+        if (projectID == null) {
+            return null;
         }
-        return null;
+        return this.projectStore.get(projectID);
     }
     /**
      * Returns a list of projects associated with a given supervisor ID.
@@ -280,31 +335,25 @@ public class ProjectController extends BaseController {
      * @return an Arraylist of projects associated with the given supervisor ID
      */
     public ArrayList<Project> getProjectsBySupervisorID(String supervisorID) {
-        ArrayList<Project> projects = new ArrayList<>();
-        for (Project project: this.masterProjects) {
-            if (Objects.equals(project.getSupervisorID(), supervisorID)) {
-                projects.add(project);
-            }
-        }
-        return projects;
+        return this.projectStore.getProjectsBySupervisorID(supervisorID);
+    }
+    /**
+     * Returns the number of projects currently allocated under a given supervisor.
+     * @param supervisorID the ID of the supervisor
+     * @return the number of allocated projects of the supervisor
+     */
+    public int getAllocatedCount(String supervisorID) {
+        return this.projectStore.getAllocatedCount(supervisorID);
     }
     /**
      * Returns a list of project IDs of a given type.
      * @param type the type of project IDs to retrieve (either "available" or any other value to retrieve all projects)
-     * @return an Arraylist of project IDs of the given type
+     * @return an array of project IDs of the given type
      */
-    public ArrayList<Integer> getProjects(String type) {
-        ArrayList<Integer> projectList = new ArrayList<Integer>();
-        for (Project project: this.centralManager.getMasterProjects()) {
-            if (Objects.equals(type, "available")) {
-                if (project.getProjectStatus() == 1) {
-                    projectList.add(project.getProjectID());
-                }
-            }
-            else {
-                projectList.add(project.getProjectID());
-            }
+    public int[] getProjects(String type) {
+        if (Objects.equals(type, "available")) {
+            return this.getProjectsByFilter(1, "!");
         }
-        return projectList;
+        return this.getProjectsByFilter(-3, "!");
     }
 }
@@ -2,10 +2,17 @@ package controller;
 
 import entity.CentralManager;
 import entity.Project;
+import entity.ProjectStatus;
 import entity.Request;
+import entity.RequestStatus;
+import entity.RequestStore;
+import entity.RequestType;
+import entity.UpdateResult;
 
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A class that serves as a controller for managing requests.
@@ -17,19 +24,22 @@ import java.util.Objects;
  */
 public class RequestController extends BaseController {
     /**
-     * An ArrayList of Request object type to store all requests in the system.
-     */
-    ArrayList<Request> masterRequests;
-
-    /**
-     * Constructs a new instance of RequestController using the CentralManager of the system. <br>
-     * Initializes the masterRequest ArrayList with the ArrayList of all requests in the system. (if necessary)
+     * Constructs a new instance of RequestController using the CentralManager of the system.
      *
      * @param centralManager (centralManager) the CentralManager entity object for the system.
      */
     public RequestController(CentralManager centralManager) {
         super(centralManager);
-        this.masterRequests = this.centralManager.getMasterRequests();
+    }
+
+    /**
+     * Gets the store that holds all requests in the system and indexes them by requestee, project, type and status.
+     * It is looked up every time, since it is replaced whenever closed requests are archived.
+     *
+     * @return the RequestStore of the system
+     */
+    private RequestStore getRequestStore() {
+        return this.centralManager.getRequestStore();
     }
 
     /**
@@ -39,13 +49,18 @@ public class RequestController extends BaseController {
      * @return ArrayList of Request made by the specified userID provided
      */
     public ArrayList<Request> getRequestsByUserID(String userID) {
-        ArrayList<Request> requests = new ArrayList<Request>();
-        for (Request request: this.masterRequests) {
-            if (Objects.equals(request.getRequesteeID(), userID)) {
-                requests.add(request);
-            }
-        }
-        return requests;
+        return this.getRequestStore().getRequestsByRequestee(userID);
+    }
+
+    /**
+     * Gets the full history of requests made by the specified userID, the archived requests streamed from the request archive
+     * followed by the requests still kept on heap. The stream must be closed after use.
+     *
+     * @param userID ID of the user you wish to get the request history of.
+     * @return Stream of Request made by the specified userID provided, oldest first
+     */
+    public Stream<Request> getRequestHistoryByUserID(String userID) {
+        return Stream.concat(this.centralManager.getRequestArchive().streamByRequestee(userID), this.getRequestsByUserID(userID).stream());
     }
 
     /**
@@ -57,8 +72,8 @@ public class RequestController extends BaseController {
      * else, False
      */
     public boolean checkPendingProjectRequest(String studentID) {
-        for (Request request: this.masterRequests) {
-            if (Objects.equals(request.getRequesteeID(), studentID) && Objects.equals(request.getType(), "register") && Objects.equals(request.getStatus(), "pending")) {
+        for (Request request: this.getRequestStore().getRequestsByRequestee(studentID)) {
+            if (request.getRequestType() == RequestType.REGISTER && request.getRequestStatus() == RequestStatus.PENDING) {
                 return true;
             }
         }
@@ -75,7 +90,7 @@ public class RequestController extends BaseController {
      * @param studentID ID of student requestee.
      * @param value new Title to be replaced.
      */
-    public void baseRequestStudent(Integer projectId, String type, String studentID, String value) {
+    public void baseRequestStudent(Integer projectId, RequestType type, String studentID, String value) {
         Request request = new Request(projectId, type, studentID, value);
         this.submitRequest(request);
     }
@@ -89,7 +104,7 @@ public class RequestController extends BaseController {
      * @param projectID ID of specific project student wishes to change the title of.
      */
     public void requestChangeTitle(String newTitle, String studentID, String projectID){
-        this.baseRequestStudent(Integer.valueOf(projectID), "changeTitle", studentID, newTitle);
+        this.baseRequestStudent(Integer.valueOf(projectID), RequestType.CHANGE_TITLE, studentID, newTitle);
     }
 
     /**
@@ -100,7 +115,7 @@ public class RequestController extends BaseController {
      * @param studentID ID of student who is allocated this project.
      */
     public void requestAllocation(String projectID, String studentID){
-        this.baseRequestStudent(Integer.valueOf(projectID), "register", studentID, "");
+        this.baseRequestStudent(Integer.valueOf(projectID), RequestType.REGISTER, studentID, "");
     }
 
     /**
@@ -112,7 +127,7 @@ public class RequestController extends BaseController {
      * @param studentID ID of student who is allocated this project.
      */
     public void requestDeAllocation(String projectID, String studentID){
-        this.baseRequestStudent(Integer.valueOf(projectID), "deRegister", studentID, "");
+        this.baseRequestStudent(Integer.valueOf(projectID), RequestType.DE_REGISTER, studentID, "");
     }
 
     /**
@@ -125,7 +140,7 @@ public class RequestController extends BaseController {
      * @param newSupervisorID replacement Supervisor's ID.
      */
     public void requestTransfer(String projectID, String requesteeID, String newSupervisorID) {
-        Request request = new Request(Integer.parseInt(projectID), "changeSupervisor", requesteeID, newSupervisorID);
+        Request request = new Request(Integer.parseInt(projectID), RequestType.CHANGE_SUPERVISOR, requesteeID, newSupervisorID);
         this.submitRequest(request);
     }
 
@@ -135,7 +150,9 @@ public class RequestController extends BaseController {
      * @param request Request object you wish to add to masterRequest
      */
     public void submitRequest(Request request) {
-        this.masterRequests.add(request);
+        this.mutate(() -> {
+            this.getRequestStore().add(request);
+        });
     }
 
     /**
@@ -144,50 +161,66 @@ public class RequestController extends BaseController {
      * @param supervisorID ID of supervisor whos remaining projects you wish to reject.
      */
     public void rejectAllRemainingProjects(String supervisorID) {
-        ArrayList<Request> requests = this.getRequestsBySupervisorID(supervisorID, "pending");
-        for (Request _request: requests) {
-            _request.setStatus("rejected");
-        }
+        this.mutate(() -> {
+            ArrayList<Request> requests = this.getRequestsBySupervisorID(supervisorID, RequestStatus.PENDING);
+            for (Request _request: requests) {
+                _request.setStatus(RequestStatus.REJECTED);
+            }
+        }, supervisorID);
     }
 
     /**
      * Method to process request according to what decision is chosen by the Coordinator. <br>
      * If coordinator chooses 'Y', the request will be approved and updated in the masterRequest using this method. <br>
-     * If coordinator chooses 'N', the request will be rejected and updated in the masterRequest using this method.
+     * If coordinator chooses 'N', the request will be rejected and updated in the masterRequest using this method. <br>
+     * A request that was processed by another session in the meantime, or whose approval is no longer valid because another
+     * session changed its project or student first, is left as it is and CONFLICT is returned.
      *
      * @param request Request object which Coordinator chooses to process
      * @param decision Decision of Coordinator to approve or reject the request, can only be 'Y' or 'N'.
-     * @return True, if request if approved. False, if request is rejected.
+     * @return APPLIED or CAP_REACHED if the request is approved, REJECTED if the request is rejected, CONFLICT if it could not be processed.
      */
-    public boolean processRequest(Request request, String decision) {
-        if (Objects.equals(decision, "Y")) {
-            request.setStatus("approved");
-            if (Objects.equals(request.getType(), "register")) {
-
-                boolean capReached = this.getProjectController().assignProject(request.getProjectID(), request.getRequesteeID());
-                if (capReached) { //  reject all pending request for supervisor ID if cap reached
-                    String supervisorID = this.getProjectController().getSupervisorIDFromProjectID(request.getProjectID());
-                    this.rejectAllRemainingProjects(supervisorID);
+    public UpdateResult processRequest(Request request, String decision) {
+        Object newSupervisorID = request.getRequestType() == RequestType.CHANGE_SUPERVISOR ? request.getUpdatedValue() : null;
+        return this.mutateKeyed(this.getProjectController().lockKeys(request.getProjectID(), request.getRequesteeID(), newSupervisorID), () -> {
+            if (request.getRequestStatus() != RequestStatus.PENDING) {
+                return UpdateResult.CONFLICT;
+            }
+            if (Objects.equals(decision, "Y")) {
+                UpdateResult result = UpdateResult.APPLIED;
+                switch (request.getRequestType()) {
+                    case REGISTER -> {
+                        result = this.getProjectController().assignProject(request.getProjectID(), request.getRequesteeID());
+                        if (result == UpdateResult.CAP_REACHED) { //  reject all pending request for supervisor ID if cap reached
+                            String supervisorID = this.getProjectController().getSupervisorIDFromProjectID(request.getProjectID());
+                            this.rejectAllRemainingProjects(supervisorID);
+                        }
+                    }
+                    case CHANGE_TITLE -> this.getProjectController().changeTitle(request.getProjectID(), request.getUpdatedValue());
+                    case DE_REGISTER -> result = this.getProjectController().unassignProject(request.getProjectID(), request.getRequesteeID());
+                    case CHANGE_SUPERVISOR -> {
+                        result = this.getProjectController().changeSupervisor(request.getProjectID(), request.getRequesteeID(), request.getUpdatedValue()); // checking if new supervisor's cap reached
+                        if (result == UpdateResult.CAP_REACHED) {
+                            this.rejectAllRemainingProjects(request.getUpdatedValue());
+                        }
+                    }
                 }
-            } else if (Objects.equals(request.getType(), "changeTitle")) {
-                this.getProjectController().changeTitle(request.getProjectID(), request.getUpdatedValue());
-            } else if (Objects.equals(request.getType(), "deRegister")) {
-                boolean capReached = this.getProjectController().unassignProject(request.getProjectID(), request.getRequesteeID());
-            } else if (Objects.equals(request.getType(), "changeSupervisor")) {
-                boolean capReached = this.getProjectController().changeSupervisor(request.getProjectID(), request.getUpdatedValue()); // checking if new supervisor's cap reached
-                if (capReached) {
-                    this.rejectAllRemainingProjects(request.getUpdatedValue());
+                if (result.isApplied()) {
+                    request.setStatus(RequestStatus.APPROVED);
+                }
+                return result;
+            } else {
+                request.setStatus(RequestStatus.REJECTED);
+                if (request.getRequestType() == RequestType.REGISTER) {
+                    Project project = this.centralManager.getProjectController().getProjectByID(request.getProjectID());
+                    if (project.getStatus() != ProjectStatus.ALLOCATED) { // the project may have been allocated to another student in the meantime
+                        project.setProjectStatus(ProjectStatus.AVAILABLE);
+                    }
                 }
-            }
-            return true;
-        } else {
-            request.setStatus("rejected");
-            if (Objects.equals(request.getType(), "register")) {
-                this.centralManager.getProjectController().getProjectByID(request.getProjectID()).setProjectStatus(1);
-            }
 
-            return false;
-        }
+                return UpdateResult.REJECTED;
+            }
+        });
     }
 
     /**
@@ -196,31 +229,32 @@ public class RequestController extends BaseController {
      * @return ArrayList of all requests made
      */
     public ArrayList<Request> getAllRequests() {
-        return this.masterRequests;
+        return this.getRequestStore().getRequests();
+    }
+
+    /**
+     * Gets the full history of requests made, the archived requests streamed from the request archive
+     * followed by a snapshot of the requests still kept on heap, so the history can be read while other sessions keep
+     * submitting and processing requests. The stream must be closed after use.
+     *
+     * @return Stream of all requests made, oldest first
+     */
+    public Stream<Request> getRequestHistory() {
+        return Stream.concat(this.centralManager.getRequestArchive().stream(), this.getRequestStore().snapshot().stream());
     }
 
     /**
      * Gets an ArrayList of requests of the specified type and status.
      *
-     * @param type Request Type
-     * @param status Request Status
+     * @param type Request Type, or null for requests of every type
+     * @param status Request Status, or null for requests of every status
      * @return ArrayList of Request with the specified status
      */
-    public ArrayList<Request> getRequestByType(String type, String status) {
-        ArrayList<Request> requests = new ArrayList<>();
-        for (Request request: this.masterRequests) {
-            if (Objects.equals(type, "all")) {
-                if (Objects.equals(request.getStatus(), status)) {
-                    requests.add(request);
-                }
-            } else {
-                if (Objects.equals(request.getType(), type) && Objects.equals(request.getStatus(), status)) {
-                    requests.add(request);
-                }
-            }
+    public ArrayList<Request> getRequestByType(RequestType type, RequestStatus status) {
+        if (type == null) {
+            return status == null ? this.getRequestStore().stream().collect(Collectors.toCollection(ArrayList::new)) : this.getRequestStore().getRequestsByStatus(status);
         }
-
-        return requests;
+        return this.getRequestStore().getRequestsByTypeAndStatus(type, status);
     }
 
     /**
@@ -228,32 +262,22 @@ public class RequestController extends BaseController {
      * ID and status.
      *
      * @param supervisorID the ID of the supervisor for the project
-     * @param status the status of the request to get (use an empty string to get all statuses)
+     * @param status the status of the request to get (use null to get all statuses)
      * @return an ArrayList of Request objects of type "changeTitle" for projects supervised by the
      * specified supervisor ID and status
      */
-    public ArrayList<Request> getRequestsBySupervisorID(String supervisorID, String status) {
+    public ArrayList<Request> getRequestsBySupervisorID(String supervisorID, RequestStatus status) {
         ArrayList<Request> requests = new ArrayList<>();
-        for (Request request: this.masterRequests) {
-            if (Objects.equals(request.getType(), "changeTitle")) { // ensures that only changeTitle requests are routed to supervisor, which also means that requests of types changeTitle, register or deRegister will be routed only to coordinator
-                if (!Objects.equals(status, "")) { // if status is not empty string, used for getting requests of status for projects supervised by supervisorID
-                    if (Objects.equals(request.getStatus(), status)) {
-                        Integer projectID = request.getProjectID();
-                        Project project = this.getProjectController().getProjectByID(projectID);
-                        if (Objects.equals(project.getSupervisorID(), supervisorID)) {
-                            requests.add(request);
-                        }
-                    }
-                } else { // if status is empty string, used for getting all requests of projects supervised by supervisorID
-                    Integer projectID = request.getProjectID();
-                    Project project = this.getProjectController().getProjectByID(projectID);
-                    if (Objects.equals(project.getSupervisorID(), supervisorID)) {
+        for (Project project: this.getProjectController().getProjectsBySupervisorID(supervisorID)) {
+            for (Request request: this.getRequestStore().getRequestsByProject(project.getProjectID())) {
+                if (request.getRequestType() == RequestType.CHANGE_TITLE) { // ensures that only changeTitle requests are routed to supervisor, which also means that requests of types changeTitle, register or deRegister will be routed only to coordinator
+                    if (status == null || request.getRequestStatus() == status) { // if status is null, used for getting all requests of projects supervised by supervisorID
                         requests.add(request);
                     }
                 }
             }
-
         }
+        RequestStore.sortBySubmission(requests);
         return requests;
     }
 
@@ -3,6 +3,7 @@ package controller;
 import entity.*;
 
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 /**
  * Student's controller to process inputs obtained from the Student's Boundary. Only accessible by a Student user.
@@ -24,7 +25,7 @@ public class StudentController extends  UserController {
     * @return The current Student object.
      */
     public Student getCurrentStudent() {
-        return (Student) this.currentUser;
+        return (Student) this.getCurrentUser();
     }
 
     /**
@@ -50,8 +51,10 @@ public class StudentController extends  UserController {
      * @param projectID The ID of the project to be assigned.
      */
     public void assignProject(String studentID, Integer projectID) {
-        Student student = (Student) this.getUserByID(studentID);
-        student.setRegisteredProject(projectID);
+        this.mutate(() -> {
+            Student student = (Student) this.getUserByID(studentID);
+            student.setRegisteredProject(projectID);
+        }, studentID);
     }
 
     /**
@@ -59,8 +62,10 @@ public class StudentController extends  UserController {
      * @param studentID The ID of the student to unassign the project from.
      */
     public void unAssignProject(String studentID) {
-        Student student = (Student) this.getUserByID(studentID);
-        student.setRegisteredProject(-2);
+        this.mutate(() -> {
+            Student student = (Student) this.getUserByID(studentID);
+            student.setRegisteredProject(-2);
+        }, studentID);
     }
 
     /**
@@ -76,7 +81,10 @@ public class StudentController extends  UserController {
     * @param newPassword The new password to set.
      */
     public void setPassword(String newPassword){
-        this.getCurrentStudent().setPassword(newPassword);
+        Student student = this.getCurrentStudent();
+        this.mutate(() -> {
+            student.setPassword(newPassword);
+        }, student.getId());
     }
 
     /**
@@ -91,12 +99,21 @@ public class StudentController extends  UserController {
 
     /**
      * Sends a request for project allocation by calling request controller. Also, update project status to 0(reserved) by calling project controller.
+     * The project is checked again once it is locked, since another student may have reserved it, or it may have been allocated, in the meantime.
      * @param projectID The ID of the project to be allocated.
      * @param studentID The ID of the student sending the request.
+     * @return APPLIED if the request was submitted, CONFLICT if the project is no longer available.
      */
-    public void requestAllocation(Integer projectID, String studentID){
-        this.getRequestController().requestAllocation(projectID.toString(), studentID);
-        this.getProjectController().getProjectByID(projectID).setProjectStatus(0);
+    public UpdateResult requestAllocation(Integer projectID, String studentID){
+        return this.mutateKeyed(this.getProjectController().lockKeys(projectID, studentID), () -> {
+            Project project = this.getProjectController().getProjectByID(projectID);
+            if (project == null || project.getStatus() != ProjectStatus.AVAILABLE) {
+                return UpdateResult.CONFLICT;
+            }
+            this.getRequestController().requestAllocation(projectID.toString(), studentID);
+            project.setProjectStatus(ProjectStatus.RESERVED);
+            return UpdateResult.APPLIED;
+        });
     }
 
     /**
@@ -109,10 +126,10 @@ public class StudentController extends  UserController {
     }
 
     /**
-     * Retrieves the request history for the current student by calling request controller.
-     * @return an ArrayList of Request
+     * Retrieves the request history for the current student, including archived requests, by calling request controller.
+     * @return a Stream of Request, which must be closed after use
      */
-    public ArrayList<Request> getRequestsHistory() {
-        return this.getRequestController().getRequestsByUserID(this.getCurrentStudent().getId());
+    public Stream<Request> getRequestsHistory() {
+        return this.getRequestController().getRequestHistoryByUserID(this.getCurrentStudent().getId());
     }
 }
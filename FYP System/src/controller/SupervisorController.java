@@ -35,7 +35,10 @@ public class SupervisorController extends UserController {
      * @param newPassword the new password to be set.
      */
     public void setPassword(String newPassword) {
-        this.getCurrentSupervisor().setPassword(newPassword);
+        Supervisor supervisor = this.getCurrentSupervisor();
+        this.mutate(() -> {
+            supervisor.setPassword(newPassword);
+        }, supervisor.getId());
     }
 
     /**
@@ -45,12 +48,7 @@ public class SupervisorController extends UserController {
      * @return the Supervisor instance corresponding to the given ID, or null if no such supervisor exists.
      */
     public Supervisor getSupervisorByID(String userID) {
-        for (User user : this.users) {
-            if (Objects.equals(user.getId(), userID)) {
-                return (Supervisor) user;
-            }
-        }
-        return null;
+        return (Supervisor) this.getUserByID(userID);
     }
 
     /**
@@ -60,7 +58,7 @@ public class SupervisorController extends UserController {
      */
     public ArrayList<Request> getIncomingRequests() {
         String supervisorID = this.getCurrentSupervisor().getId();
-        return this.getRequestController().getRequestsBySupervisorID(supervisorID, "");
+        return this.getRequestController().getRequestsBySupervisorID(supervisorID, null);
     }
 
     /**
@@ -69,16 +67,7 @@ public class SupervisorController extends UserController {
      * @return the Supervisor instance representing the current supervisor.
      */
     public Supervisor getCurrentSupervisor() {
-        return (Supervisor) this.currentUser;
-    }
-
-    /**
-     * Sets the current user to the user with the given ID.
-     *
-     * @param userID the ID of the user to set as the current user.
-     */
-    public void setCurrentUser(String userID) {
-        this.currentUser = this.getUserByID(userID);
+        return (Supervisor) this.getCurrentUser();
     }
 
     /**
@@ -88,11 +77,13 @@ public class SupervisorController extends UserController {
      */
     public void createProject(String projectTitle) {
         String supervisorID = this.getCurrentSupervisor().getId();
-        int status = 1;
-        if (this.reachedProjectCap(this.getCurrentSupervisor().getId())) {
-            status = -2;
-        }
-        this.getProjectController().createProject(supervisorID, projectTitle, status);
+        this.mutate(() -> {
+            ProjectStatus status = ProjectStatus.AVAILABLE;
+            if (this.reachedProjectCap(supervisorID)) {
+                status = ProjectStatus.UNAVAILABLE;
+            }
+            this.getProjectController().createProject(supervisorID, projectTitle, status);
+        }, supervisorID);
     }
 
     /**
@@ -106,14 +97,14 @@ public class SupervisorController extends UserController {
     }
 
     /**
-     * Retrieves a list of all supervisors in the system.
+     * Retrieves a list of all supervisors in the system, including the coordinator, who also holds the supervisor role.
      *
      * @return an ArrayList of Supervisor instances representing all supervisors in the system.
      */
     public ArrayList<Supervisor> getSupervisorList() {
         ArrayList<Supervisor> supervisors = new ArrayList<>();
         for (User user : this.users) {
-            if (Objects.equals(user.getType(), "Supervisor")) {
+            if (user.hasRole(Role.SUPERVISOR)) {
                 supervisors.add((Supervisor) user);
             }
         }
@@ -135,19 +126,48 @@ public class SupervisorController extends UserController {
         return false;
     }
     /**
-     * Checks if the supervisor is already supervising two projects.
+     * Checks if the supervisor has reached the number of projects he/she is allowed to supervise.
+     * The allocated count is kept up to date by the project store, so this is a single comparison.
      * @param supervisorID ID of the supervisor to check
-     * @return true if supervisor is supervising two projects (reached the maximum number of
-     * projects he/she is allowed to supervise) and false if the cap has not been reached.
+     * @return true if supervisor is supervising as many allocated projects as his/her project cap allows
+     * and false if the cap has not been reached.
      */
     public boolean reachedProjectCap(String supervisorID) {
-        ArrayList<Project> projects = this.getProjectController().getProjectsBySupervisorID(supervisorID);
-        int projectCount = 0;
-        for (Project project : projects) {
-            if (project.getProjectStatus() == -1) {
-                projectCount++;
-            }
+        return this.getProjectController().getAllocatedCount(supervisorID) >= this.getProjectCap(supervisorID);
+    }
+
+    /**
+     * Retrieves the project cap of a supervisor.
+     * @param supervisorID ID of the supervisor
+     * @return the supervisor's project cap, or the default cap if no such supervisor exists.
+     */
+    public int getProjectCap(String supervisorID) {
+        Supervisor supervisor = this.getSupervisorByID(supervisorID);
+        if (supervisor == null) {
+            return Supervisor.DEFAULT_PROJECT_CAP;
+        }
+        return supervisor.getProjectCap();
+    }
+
+    /**
+     * Sets the project cap of a supervisor, and in the same operation makes the supervisor's projects unavailable
+     * if the new cap is reached, or available again if it is not.
+     * @param supervisorID ID of the supervisor
+     * @param projectCap the maximum number of allocated projects the supervisor may supervise
+     * @return true if the cap was set, false if no such supervisor exists
+     */
+    public boolean setProjectCap(String supervisorID, int projectCap) {
+        if (!(this.getUserByID(supervisorID) instanceof Supervisor supervisor)) {
+            return false;
         }
-        return !(projectCount < 2);
+        this.mutate(() -> {
+            supervisor.setProjectCap(projectCap);
+            if (this.reachedProjectCap(supervisorID)) {
+                this.getProjectController().setUnavailableProjects(supervisorID);
+            } else {
+                this.getProjectController().setAvailableProjects(supervisorID);
+            }
+        }, supervisorID);
+        return true;
     }
 }
@@ -3,6 +3,7 @@ package controller;
 import boundary.BaseBoundary;
 import entity.CentralManager;
 import entity.User;
+import utils.Session;
 
 import java.util.ArrayList;
 import java.util.Objects;
@@ -18,10 +19,6 @@ public class UserController extends BaseController {
      * Creates an instance of an ArrayList of users
      */
     ArrayList<User> users;
-    /**
-     * Creates an instance of the current user of the User class
-     */
-    User currentUser;
 
     /**
      * Constructor for UserController class.
@@ -33,11 +30,19 @@ public class UserController extends BaseController {
     }
 
     /**
-     * Sets the current user of the system.
+     * Sets the current user of the session of the calling thread.
      * @param userID the ID of the user to set as current.
      */
     public void setCurrentUser(String userID) {
-        this.currentUser = this.getUserByID(userID);
+        Session.current().setCurrentUser(this.getUserByID(userID));
+    }
+
+    /**
+     * Gets the current user of the session of the calling thread.
+     * @return the User instance logged in to the session, or null before login.
+     */
+    protected User getCurrentUser() {
+        return Session.current().getCurrentUser();
     }
 
     /**
@@ -46,12 +51,16 @@ public class UserController extends BaseController {
      * @return the User instance with the specified ID, or null if the user does not exist.
      */
     public User getUserByID(String userID) {
-        for (User _user: this.users) {
-            if (Objects.equals(_user.getId(), userID)){
-                return _user;
-            }
-        }
-        return null;
+        return this.centralManager.getUserByID(userID);
+    }
+
+    /**
+     * Gets the user with the specified email address.
+     * @param email the email address of the user to get.
+     * @return the User instance with the specified email address, or null if the user does not exist.
+     */
+    public User getUserByEmail(String email) {
+        return this.centralManager.getUserByEmail(email);
     }
     /**
      * Authenticates the user with the specified ID and password.
@@ -60,11 +69,9 @@ public class UserController extends BaseController {
      * @return the type of the user if the authentication succeeds, or "InvalidUser" if the authentication fails.
      */
     public String login(String userID, String pwd){
-        for(User user: this.users){
-            if (Objects.equals(userID, user.getId()) && Objects.equals(pwd, user.getPassword())){
-                return user.getType();
-            }
-
+        User user = this.getUserByID(userID);
+        if (user != null && Objects.equals(pwd, user.getPassword())){
+            return user.getType();
         }
         return "InvalidUser";
     }
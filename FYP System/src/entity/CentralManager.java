@@ -1,15 +1,30 @@
 package entity;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import boundary.*;
 import controller.*;
 
+import utils.IO.Journal;
 import utils.IO.Reader;
+import utils.IO.RequestArchive;
+import utils.IO.Snapshot;
 import utils.IO.Writer;
 import utils.Input;
+import utils.LockStripes;
+import utils.Session;
+import utils.SymbolTable;
 
 /**
  * The CentralManager class represents the main entity of the system.
@@ -23,6 +38,15 @@ import utils.Input;
 
 public class CentralManager {
 
+    /**
+     * The size in bytes from which Requests.txt is memory-mapped and parsed in parallel instead of read line by line
+     */
+    public static final long MAPPED_INGEST_THRESHOLD = 1 << 20;
+    /**
+     * The age in days after which an approved or rejected request is moved from Requests.txt into the request archive
+     */
+    public static final int ARCHIVE_AFTER_DAYS = Integer.getInteger("fyp.archive.days", 365);
+
     // Master Arrays
     /**
      * Creates an ArrayList to store all user objects, including students, supervisor and coordinators
@@ -32,10 +56,70 @@ public class CentralManager {
      * Creates an ArrayList to store all project objects
      */
     private ArrayList<Project> MasterProjects;
+
+    // Indexes
+    /**
+     * Creates a HashMap to look up user objects by their user ID
+     */
+    private HashMap<String, User> userIndex;
+    /**
+     * Creates a HashMap to look up user objects by their email address
+     */
+    private HashMap<String, User> emailIndex;
+    /**
+     * Creates a ProjectStore to look up project objects by their project ID
+     */
+    private ProjectStore projectStore;
+    /**
+     * Creates a RequestStore to store all request objects and look them up by requestee, project, type and status.
+     * The requests are kept on the Java heap, or outside it when RequestStore.OFF_HEAP is set.
+     * The store is replaced by a smaller one whenever closed requests are archived
+     */
+    private volatile RequestStore requestStore;
+    /**
+     * Creates a RequestArchive to hold the closed requests that are no longer kept on heap
+     */
+    private RequestArchive requestArchive;
+
+    // Journal
+    /**
+     * Creates a ChangeJournal to record every change to users, projects and requests
+     */
+    private ChangeJournal changeJournal;
+    /**
+     * Creates a set of the data files that hold changes not yet saved to them
+     */
+    private final EnumSet<DataFile> dirtyFiles = EnumSet.noneOf(DataFile.class);
+    /**
+     * Creates a lock that controllers hold in shared mode while they change the data, and that a checkpoint holds exclusively
+     * while it copies the data, so the copy never contains half of an operation
+     */
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
     /**
-     * Creates an ArrayList to store all request objects
+     * Creates the lock stripes that controllers hold for the projects and users they change, so that operations of different
+     * sessions on the same project or user run one at a time
      */
-    private ArrayList<Request> MasterRequests;
+    private final LockStripes lockStripes = new LockStripes();
+    /**
+     * Creates a Checkpointer to save the data files in the background
+     */
+    private Checkpointer checkpointer;
+    /**
+     * Creates a MutationLoop to apply every change on a single writer thread, when enabled
+     */
+    private MutationLoop mutationLoop;
+    /**
+     * Creates a flag for whether the binary snapshot is missing or older than the text files, so the next checkpoint must save it
+     */
+    private volatile boolean snapshotStale;
+    /**
+     * Creates a holder for the exception of an operation that changed data but was not committed, after which no changes are accepted
+     */
+    private volatile Throwable failure;
+    /**
+     * Whether close() has been called, after which no changes are accepted
+     */
+    private volatile boolean closed;
 
     // Boundary & Controllers
     /**
@@ -115,8 +199,8 @@ public class CentralManager {
 
     /**
      * Constructor for the CentralManager class.
-     * Initializes the master arrays, ingests data from files, creates instances of all controllers and boundaries,
-     * and adds a shutdown hook to write the data back to files when the program terminates.
+     * Initializes the master arrays, ingests data from files concurrently, creates instances of all controllers and boundaries,
+     * and adds a shutdown hook to close the central manager when the program terminates.
      */
     // stores all the data of Users, Projects, Requests
     public CentralManager () {
@@ -131,28 +215,28 @@ public class CentralManager {
          * Initialises the master array to contain all users objects
          */
         this.MasterUsers = new ArrayList<User>();
+        /**
+         * Initialises the indexes used to look up users by ID and by email
+         */
+        this.userIndex = new HashMap<String, User>();
+        this.emailIndex = new HashMap<String, User>();
         /**
          * Initialises the master array to contain all project objects
          */
         this.MasterProjects = new ArrayList<Project>();
+        this.projectStore = new ProjectStore(this.MasterProjects);
         /**
-         * Initialises the master array to contain all request objects
+         * Initialises the request store to contain all request objects
          */
-        this.MasterRequests = new ArrayList<Request>();
+        this.requestStore = RequestStore.create(new ArrayList<Request>());
 
         // Ingest Files
         /**
-         * Runs the ingest projects method defined in this class to ingest all projects into the central manager class.
+         * Runs the ingest methods defined in this class to ingest all projects, users and requests into the central manager class.
+         * The three files do not depend on each other, so they are loaded concurrently, and the projects are linked to
+         * their students once all of them are loaded.
          */
-        this.ingestProjects();
-        /**
-         * Runs the ingest users method defined in this class to ingest all users into the central manager class.
-         */
-        this.ingestUsers();
-        /**
-         * Runs the ingest requests method defined in this class to ingest all requests into the central manager class.
-         */
-        this.ingestRequests();
+        this.startup();
 
         // Scanner
         /**
@@ -163,6 +247,10 @@ public class CentralManager {
          * Initialises the input
          */
         this.input = new Input(this.sc);
+        /**
+         * Makes the console the session of threads without a session of their own
+         */
+        Session.setConsole(new Session(this.input, System.out));
 
 
         // Initialize Controllers
@@ -219,47 +307,448 @@ public class CentralManager {
         this.coordinatorBoundary = new CoordinatorBoundary(this);
 
         /**
-         * Initialises each project's student ID
-         */
-        for (Project project: this.MasterProjects) {
-            if (!Objects.equals(project.getStudentID(), "\"\"")) {
-                this.getStudentController().getStudentByID(project.getStudentID()).setRegisteredProject(project.getProjectID());
-            }
-        }
-
-        /**
-         * When the user wants to end the program, the program will write all the latest data back to their respective text files.
+         * When the user wants to end the program, every change is already in the journal, so the program only closes the central manager.
          */
         // Add ShutdownHook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("Running shutdown routine...");
-            this.writeUsers();
-            this.writeRequests();
-            this.writeProjects();
+            this.close();
         }));
     }
 
+    /**
+     * Stops the MutationLoop and the checkpointer, waits for the operations in progress and closes the journal.
+     * Every change is already in the journal and is folded into the text files at the next checkpoint, so nothing else is saved.
+     * No changes are accepted afterwards. Calling it again does nothing.
+     */
+    public void close() {
+        if (this.mutationLoop != null) {
+            this.mutationLoop.stop();
+        }
+        if (this.checkpointer != null) {
+            this.checkpointer.stop();
+        }
+        this.stateLock.writeLock().lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (this.changeJournal != null) {
+                this.changeJournal.getJournal().close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            this.stateLock.writeLock().unlock();
+        }
+    }
+
     // Ingest Files
+    /**
+     * Loads all the data at startup and prints how long each phase took.
+     * The binary snapshot is loaded when it is up to date with the text files. Otherwise projects, users and requests are
+     * ingested from the text files concurrently, and a checkpoint is started in the background to save a new snapshot.
+     * Then each project's student is linked to it in a single pass over the indexed data, and the journal is replayed.
+     * Finally the heap taken by the IDs and other repeated strings is reported, with and without the sharing done by the SymbolTable.
+     */
+    public void startup() {
+        long start = System.nanoTime();
+        ConcurrentHashMap<String, Long> timings = new ConcurrentHashMap<>();
+        timed(timings, "snapshot", this::ingestSnapshot);
+        String[] phases;
+        if (this.snapshotStale) {
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> timed(timings, "projects", this::ingestProjects)),
+                    CompletableFuture.runAsync(() -> timed(timings, "users", this::ingestUsers)),
+                    CompletableFuture.runAsync(() -> timed(timings, "requests", this::ingestRequests))
+            ).join();
+            phases = new String[] {"projects", "users", "requests", "link", "journal"};
+        } else {
+            phases = new String[] {"snapshot", "link", "journal"};
+        }
+        timed(timings, "link", this::linkProjects);
+        timed(timings, "journal", this::openJournal);
+        StringBuilder report = new StringBuilder(String.format("Startup took %.1f ms (", (System.nanoTime() - start) / 1e6));
+        for (int i = 0; i < phases.length; i++) {
+            report.append(String.format("%s%s %.1f ms", i > 0 ? ", " : "", phases[i], timings.get(phases[i]) / 1e6));
+        }
+        System.out.println(report.append(')'));
+        String footprint = SymbolTable.report();
+        if (footprint != null) {
+            System.out.println(footprint);
+        }
+        if (this.snapshotStale) {
+            this.checkpointer.trigger();
+        }
+    }
+
+    /**
+     * Loads users, projects and requests from the binary snapshot, if it exists and was saved with the current text files.
+     * Otherwise marks the snapshot as stale, so that the text files are ingested instead.
+     */
+    public void ingestSnapshot() {
+        Snapshot snapshot = null;
+        try {
+            snapshot = Snapshot.read(this.snapshotPath(), this.textFingerprint());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (snapshot == null) {
+            this.snapshotStale = true;
+            return;
+        }
+        this.MasterUsers = snapshot.getUsers();
+        this.indexUsers();
+        this.MasterProjects = snapshot.getProjects();
+        this.projectStore = new ProjectStore(this.MasterProjects);
+        this.requestStore = RequestStore.create(snapshot.getRequests());
+        System.out.printf("Loaded snapshot of %d users, %d projects and %d requests%n", this.MasterUsers.size(), this.MasterProjects.size(), this.requestStore.size());
+    }
+
+    /**
+     * return the file path of the binary snapshot in the data folder
+     * @return String
+     */
+    private String snapshotPath() {
+        return this.currentWorkingDirectory + "data/snapshot.bin";
+    }
+
+    /**
+     * return the fingerprint of the three text files as they are now, which a usable snapshot must have been saved with
+     * @return long[]
+     * @throws IOException if the attributes of a file cannot be read
+     */
+    private long[] textFingerprint() throws IOException {
+        return Snapshot.fingerprint(this.dataPath(DataFile.USERS), this.dataPath(DataFile.PROJECTS), this.dataPath(DataFile.REQUESTS));
+    }
+
+    /**
+     * Opens the journal in the data folder, recovers the changes it holds by replaying them over the loaded data,
+     * archives the closed requests that are old enough, and then attaches the journal to the stores and users
+     * so that every further change is journaled. Finally starts the checkpointer and, when enabled, the MutationLoop.
+     */
+    public void openJournal() {
+        String fpath = this.currentWorkingDirectory + "data/journal.log";
+        try {
+            this.changeJournal = new ChangeJournal(this, new Journal(fpath));
+            this.changeJournal.replay();
+            this.requestArchive = new RequestArchive(this.currentWorkingDirectory + "data/archive");
+            this.requestArchive.recover(this.requestStore.getRequests());
+            this.archiveClosedRequests();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the journal", e);
+        }
+        this.projectStore.setJournal(this.changeJournal);
+        this.requestStore.setJournal(this.changeJournal);
+        for (User user: this.MasterUsers) {
+            user.setJournal(this.changeJournal);
+        }
+        this.checkpointer = new Checkpointer(this);
+        this.checkpointer.start();
+        if (MutationLoop.ENABLED) {
+            this.mutationLoop = new MutationLoop(this);
+            this.mutationLoop.start();
+        }
+    }
+
+    /**
+     * Moves the approved and rejected requests older than ARCHIVE_AFTER_DAYS days out of Requests.txt into compressed segments
+     * of the request archive, so that only pending and recent requests stay on heap.
+     * Runs at startup and then periodically from the checkpointer, holding the state lock exclusively throughout,
+     * so sessions wait for the run to finish before changing anything.
+     * The journal is first folded into the data files by a checkpoint, since its records refer to requests by their position,
+     * which changes once requests are removed. The segments are written, the request store replaced by one holding only the
+     * kept requests and Requests.txt saved, and only then are the segments committed to the archive. An archival run
+     * interrupted by a crash is finished or undone by the archive when it is next opened.
+     * @throws IOException if the archive cannot be read or written
+     */
+    public synchronized void archiveClosedRequests() throws IOException {
+        this.stateLock.writeLock().lock();
+        try {
+            ArrayList<Request> requests = this.requestStore.getRequests();
+            LocalDate cutoff = LocalDate.now().minusDays(ARCHIVE_AFTER_DAYS);
+            ArrayList<Request> closed = new ArrayList<>();
+            ArrayList<Request> kept = new ArrayList<>();
+            for (Request request: requests) {
+                if (request.getRequestStatus() != RequestStatus.PENDING && request.getDate().isBefore(cutoff)) {
+                    closed.add(request);
+                } else {
+                    kept.add(request);
+                }
+            }
+            if (closed.isEmpty()) {
+                return;
+            }
+            this.checkpoint();
+            ArrayList<String> segments = this.requestArchive.archive(closed);
+            this.requestStore = this.requestStore.retain(kept);
+            this.markDirty(DataFile.REQUESTS);
+            this.checkpoint();
+            this.requestArchive.commit(segments);
+            System.out.printf("Archived %d closed requests into %d segments%n", closed.size(), segments.size());
+        } finally {
+            this.stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a data file as holding changes that are not yet saved to it.
+     * Called by the change journal whenever a user, project or request changes.
+     * @param dataFile the data file holding the changed data
+     */
+    void markDirty(DataFile dataFile) {
+        synchronized (this.dirtyFiles) {
+            this.dirtyFiles.add(dataFile);
+        }
+    }
+
+    /**
+     * Counts a journaled change towards the next checkpoint.
+     * Called by the change journal after every record it writes.
+     */
+    void mutated() {
+        if (this.checkpointer != null) {
+            this.checkpointer.mutated();
+        }
+    }
+
+    /**
+     * Stops accepting changes after an operation changed data but could not be committed, because it failed part-way
+     * or its commit marker could not be written. Its changes stay in memory but not in the journal, so no later change
+     * may build on them and no checkpoint may save them. The data can still be read, and the next start recovers it
+     * from the journal without the failed operation.
+     * @param cause the exception the operation failed with
+     */
+    public void failed(Throwable cause) {
+        if (this.failure == null) {
+            this.failure = cause;
+            System.out.println("An operation failed part-way, no further changes are accepted: " + cause);
+        }
+    }
+
+    /**
+     * Makes sure the data may still be changed.
+     * @throws IllegalStateException if an operation failed part-way or the central manager was closed, and changes are no longer accepted
+     */
+    public void checkWritable() {
+        if (this.failure != null) {
+            throw new IllegalStateException("No changes are accepted after an operation failed part-way", this.failure);
+        }
+        if (this.closed) {
+            throw new IllegalStateException("No changes are accepted after the system was shut down");
+        }
+    }
+
+    /**
+     * return the lock that controllers hold in shared mode while they change the data
+     * @return ReentrantReadWriteLock
+     */
+    public ReentrantReadWriteLock getStateLock() {
+        return this.stateLock;
+    }
+
+    /**
+     * return the MutationLoop that applies every change, or null if controllers apply changes themselves
+     * @return MutationLoop
+     */
+    public MutationLoop getMutationLoop() {
+        return this.mutationLoop;
+    }
+
+    /**
+     * return the lock stripes that controllers hold for the projects and users they change
+     * @return LockStripes
+     */
+    public LockStripes getLockStripes() {
+        return this.lockStripes;
+    }
+
+    /**
+     * Saves the data files that hold unsaved changes, then saves the binary snapshot, and discards the journal records they now contain.
+     * The state lock is held exclusively while the journal is rolled over and the data to save is taken: the users are copied,
+     * and the published snapshots of the projects and requests are taken, which is cheap since they do not change afterwards.
+     * No operation is running at that point, so the records rolled over and the data taken hold exactly the same operations.
+     * The files are then written without the lock, while users keep making changes into the new journal.
+     * Text files without changes since the last checkpoint are left untouched,
+     * and the snapshot is saved last, with the fingerprint of the text files as they are after the save.
+     * If writing fails, the files are marked dirty again and the rolled over records are kept for the next checkpoint.
+     * No checkpoint is taken once changes are no longer accepted after a failed operation.
+     */
+    public synchronized void checkpoint() {
+        EnumSet<DataFile> toWrite = EnumSet.noneOf(DataFile.class);
+        ArrayList<User> users = new ArrayList<>();
+        ArrayList<Project> projects = new ArrayList<>();
+        RequestSnapshot requestSnapshot;
+        this.stateLock.writeLock().lock();
+        try {
+            this.checkWritable();
+            synchronized (this.dirtyFiles) {
+                toWrite = EnumSet.copyOf(this.dirtyFiles);
+                this.dirtyFiles.clear();
+            }
+            if (toWrite.isEmpty() && !this.snapshotStale) {
+                return;
+            }
+            this.snapshotStale = false;
+            this.changeJournal.getJournal().rollOver();
+            for (User user: this.MasterUsers) {
+                users.add(user.copy());
+            }
+            projects.addAll(this.projectStore.snapshot());
+            requestSnapshot = this.requestStore.snapshot();
+        } catch (IOException e) {
+            synchronized (this.dirtyFiles) {
+                this.dirtyFiles.addAll(toWrite);
+            }
+            this.snapshotStale = true;
+            throw new UncheckedIOException("Could not roll over the journal", e);
+        } finally {
+            this.stateLock.writeLock().unlock();
+        }
+        ArrayList<Request> requests = new ArrayList<>(requestSnapshot.size());
+        requestSnapshot.stream().forEach(requests::add);
+        boolean saved = true;
+        if (toWrite.contains(DataFile.USERS)) {
+            saved &= Writer.writeUsers(this.dataPath(DataFile.USERS), users);
+        }
+        if (toWrite.contains(DataFile.REQUESTS)) {
+            saved &= Writer.writeRequests(this.dataPath(DataFile.REQUESTS), requests);
+        }
+        if (toWrite.contains(DataFile.PROJECTS)) {
+            saved &= Writer.writeProjects(this.dataPath(DataFile.PROJECTS), projects);
+        }
+        if (saved) {
+            try {
+                saved = new Snapshot(users, projects, requests).write(this.snapshotPath(), this.textFingerprint());
+            } catch (IOException e) {
+                e.printStackTrace();
+                saved = false;
+            }
+        }
+        if (!saved) {
+            synchronized (this.dirtyFiles) {
+                this.dirtyFiles.addAll(toWrite);
+            }
+            this.snapshotStale = true;
+            throw new IllegalStateException("Could not save the data files");
+        }
+        try {
+            this.changeJournal.getJournal().discardRolledOver();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not discard the rolled over journal", e);
+        }
+    }
+
+    /**
+     * return the path of a data file in the data folder
+     * @param dataFile the data file
+     * @return String
+     */
+    private String dataPath(DataFile dataFile) {
+        return this.currentWorkingDirectory + "data/" + dataFile.getFileName();
+    }
+
+    /**
+     * Runs one phase of startup and records how long it took.
+     * @param timings the map to record the time taken in, in nanoseconds
+     * @param phase the name of the phase
+     * @param task the work of the phase
+     */
+    private static void timed(ConcurrentHashMap<String, Long> timings, String phase, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        timings.put(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Sets the registered project of every student who is assigned to a project, looking each student up in the user index.
+     */
+    public void linkProjects() {
+        for (Project project: this.projectStore.snapshot()) {
+            if (!Objects.equals(project.getStudentID(), "\"\"")) {
+                User user = this.getUserByID(project.getStudentID());
+                if (user instanceof Student) {
+                    ((Student) user).setRegisteredProject(project.getProjectID());
+                }
+            }
+        }
+    }
+
     /**
      * Loads user data from the Users.txt by calling the Reader class method and stores it in the MasterUsers arraylist.
+     * The user indexes are rebuilt from the loaded users.
      */
     public void ingestUsers() {
-        String fpath = this.currentWorkingDirectory + "data/Users.txt";
+        String fpath = this.dataPath(DataFile.USERS);
         this.MasterUsers = Reader.readUsers(fpath);
+        this.indexUsers();
     }
     /**
      * Loads project data from the Projects.txt by calling the Reader class method and stores it in the MasterProjects arraylist.
+     * The project store is rebuilt over the loaded projects.
      */
     public void ingestProjects() {
-        String fpath = this.currentWorkingDirectory + "data/Projects.txt";
+        String fpath = this.dataPath(DataFile.PROJECTS);
         this.MasterProjects = Reader.readProjects(fpath);
+        this.projectStore = new ProjectStore(this.MasterProjects);
     }
     /**
      * Loads request data from the Requests.txt by calling the Reader class method and stores it in the MasterRequests arraylist.
+     * Files of at least MAPPED_INGEST_THRESHOLD bytes are memory-mapped and parsed in parallel.
+     * The request store is rebuilt over the loaded requests.
      */
     public void ingestRequests() {
-        String fpath = this.currentWorkingDirectory + "data/Requests.txt";
-        this.MasterRequests = Reader.readRequests(fpath);
+        String fpath = this.dataPath(DataFile.REQUESTS);
+        if (new File(fpath).length() >= MAPPED_INGEST_THRESHOLD) {
+            this.requestStore = RequestStore.create(Reader.readRequestsMapped(fpath));
+        } else {
+            this.requestStore = RequestStore.create(Reader.readRequests(fpath));
+        }
+    }
+
+    // Indexes
+    /**
+     * Rebuilds the user ID and email indexes from the MasterUsers arraylist.
+     * Every user, including the coordinator, is a single object, so each ID maps to exactly one user. Should a data file repeat an ID,
+     * the first user in MasterUsers is kept, which matches the order a linear scan would find them in.
+     */
+    public void indexUsers() {
+        this.userIndex = new HashMap<String, User>(this.MasterUsers.size() * 2);
+        this.emailIndex = new HashMap<String, User>(this.MasterUsers.size() * 2);
+        for (User user: this.MasterUsers) {
+            this.userIndex.putIfAbsent(user.getId(), user);
+            this.emailIndex.putIfAbsent(user.getEmail(), user);
+        }
+    }
+
+    /**
+     * Adds a new user to the MasterUsers arraylist and to the user indexes.
+     * @param user the user to add
+     */
+    public void addUser(User user) {
+        this.MasterUsers.add(user);
+        user.setJournal(this.changeJournal);
+        this.userIndex.putIfAbsent(user.getId(), user);
+        this.emailIndex.putIfAbsent(user.getEmail(), user);
+    }
+
+    /**
+     * return the user with the given ID using the user index
+     * @param userID the ID of the user
+     * @return User, or null if no such user exists
+     */
+    public User getUserByID(String userID) {
+        return this.userIndex.get(userID);
+    }
+
+    /**
+     * return the user with the given email address using the email index
+     * @param email the email address of the user
+     * @return User, or null if no such user exists
+     */
+    public User getUserByEmail(String email) {
+        return this.emailIndex.get(email);
     }
 
     // Write files
@@ -267,22 +756,22 @@ public class CentralManager {
      * Writes user data to the Users.txt by calling the Writer class method.
      */
     public void writeUsers() {
-        String fpath = this.currentWorkingDirectory + "data/Users.txt";
+        String fpath = this.dataPath(DataFile.USERS);
         Writer.writeUsers(fpath, this.MasterUsers);
     }
     /**
      * Writes project data to the Projects.txt by calling the Writer class method.
      */
     public void writeProjects() {
-        String fpath = this.currentWorkingDirectory + "data/Projects.txt";
-        Writer.writeProjects(fpath, this.MasterProjects);
+        String fpath = this.dataPath(DataFile.PROJECTS);
+        Writer.writeProjects(fpath, new ArrayList<>(this.projectStore.snapshot()));
     }
     /**
      * Writes request data to the Requests.txt by calling the Writer class method.
      */
     public void writeRequests() {
-        String fpath = this.currentWorkingDirectory + "data/Requests.txt";
-        Writer.writeRequests(fpath, this.MasterRequests);
+        String fpath = this.dataPath(DataFile.REQUESTS);
+        Writer.writeRequests(fpath, this.requestStore.getRequests());
     }
 
 
@@ -326,19 +815,41 @@ public class CentralManager {
 
     // Get Master Arrays
     /**
-     * return the master projects ArrayList which contains all the projects
+     * return a read-only copy of all the projects as last published by the project store, in order of project ID
      * @return ArrayList
      */
     public ArrayList<Project> getMasterProjects() {
-        return this.MasterProjects;
+        return new ArrayList<>(this.projectStore.snapshot());
+    }
+
+    /**
+     * return the project store which indexes all the projects by project ID
+     * @return ProjectStore
+     */
+    public ProjectStore getProjectStore() {
+        return this.projectStore;
     }
 
     /**
-     * return the master request ArrayList which contains all the requests
+     * return the master request ArrayList which contains all the requests, taken from the request store
      * @return ArrayList
      */
     public ArrayList<Request> getMasterRequests() {
-        return this.MasterRequests;
+        return this.requestStore.getRequests();
+    }
+    /**
+     * return the request store which indexes all the requests by requestee, project, type and status
+     * @return RequestStore
+     */
+    public RequestStore getRequestStore() {
+        return this.requestStore;
+    }
+    /**
+     * return the request archive which holds the closed requests that are no longer kept on heap
+     * @return RequestArchive
+     */
+    public RequestArchive getRequestArchive() {
+        return this.requestArchive;
     }
     /**
      * return the master user ArrayList which contains all the users
@@ -0,0 +1,380 @@
+package entity;
+
+import utils.IO.Journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ChangeJournal class records every change to projects, requests and users in a Journal, and replays the committed records at startup.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ChangeJournal {
+    /**
+     * The record type holding the state of a project
+     */
+    private static final byte PROJECT = 1;
+    /**
+     * The record type holding the state of a request
+     */
+    private static final byte REQUEST = 2;
+    /**
+     * The record type holding the state of a user
+     */
+    private static final byte USER = 3;
+    /**
+     * The record type marking that every record of an operation has been written
+     */
+    private static final byte COMMIT = 4;
+    /**
+     * The operation ID of records written outside an operation, which need no commit marker
+     */
+    private static final long NO_OPERATION = 0;
+    /**
+     * The registered project written for users who are not students
+     */
+    private static final int NO_PROJECT = Integer.MIN_VALUE;
+    /**
+     * The number of records read from the journal and applied together during recovery
+     */
+    private static final int REPLAY_BATCH_SIZE = 4096;
+    /**
+     * The central manager whose data is journaled
+     */
+    private final CentralManager centralManager;
+    /**
+     * The journal the records are written to
+     */
+    private final Journal journal;
+    /**
+     * The highest operation ID handed out so far, or found in the journal when it was replayed
+     */
+    private final AtomicLong lastOperation;
+
+    /**
+     * Constructs a ChangeJournal that records the changes to the data of the given central manager.
+     * @param centralManager the central manager whose data is journaled
+     * @param journal the journal to write the records to
+     */
+    public ChangeJournal(CentralManager centralManager, Journal journal) {
+        this.centralManager = centralManager;
+        this.journal = journal;
+        this.lastOperation = new AtomicLong();
+    }
+
+    /**
+     * Records the current state of a project.
+     * @param project the project that was added or changed
+     */
+    void projectChanged(Project project) {
+        this.centralManager.markDirty(DataFile.PROJECTS);
+        this.sync(this.record(PROJECT, out -> {
+            out.writeInt(project.getProjectID());
+            out.writeUTF(project.getSupervisorID());
+            out.writeUTF(project.getStudentID());
+            out.writeUTF(project.getProjectTitle());
+            out.writeByte(project.getProjectStatus());
+            out.writeUTF(project.getCreatedBy());
+        }));
+    }
+
+    /**
+     * Records the current state of a request.
+     * @param request the request that was submitted or changed
+     */
+    void requestChanged(Request request) {
+        this.sync(this.appendRequest(request));
+    }
+
+    /**
+     * Appends a record of the current state of a request without waiting for it to reach the disk.
+     * Used by the request store to append the record of a new request in the same order the requests are stored in.
+     * @param request the request that was submitted or changed
+     * @return the ticket of the record, to be passed to sync
+     */
+    long appendRequest(Request request) {
+        this.centralManager.markDirty(DataFile.REQUESTS);
+        return this.record(REQUEST, out -> {
+            out.writeInt(request.getSeq());
+            out.writeInt(request.getProjectID());
+            out.writeByte(request.getRequestType().ordinal());
+            out.writeByte(request.getRequestStatus().ordinal());
+            out.writeLong(request.getDate().toEpochDay());
+            out.writeUTF(request.getRequesteeID());
+            out.writeUTF(request.getUpdatedValue());
+        });
+    }
+
+    /**
+     * Records the current password and, for students, the registered project or, for supervisors, the project cap of a user.
+     * @param user the user that was changed
+     */
+    void userChanged(User user) {
+        this.centralManager.markDirty(DataFile.USERS);
+        this.sync(this.record(USER, out -> {
+            out.writeUTF(user.getId());
+            out.writeUTF(user.getPassword());
+            out.writeInt(user instanceof Student ? ((Student) user).getRegisteredProject() : NO_PROJECT);
+            out.writeInt(user instanceof Supervisor ? ((Supervisor) user).getProjectCap() : Supervisor.DEFAULT_PROJECT_CAP);
+        }));
+    }
+
+    /**
+     * Writes the commit marker of an operation and waits until it is on disk, together with every record of the operation.
+     * @param operation the ID of the operation
+     */
+    void commit(long operation) {
+        this.sync(this.append(COMMIT, operation, out -> { }));
+    }
+
+    /**
+     * return a new operation ID, for the first record of an operation
+     * @return long
+     */
+    long nextOperation() {
+        return this.lastOperation.incrementAndGet();
+    }
+
+    /**
+     * An action that writes the fields of one record.
+     */
+    private interface RecordWriter {
+        /**
+         * Writes the fields of a record.
+         * @param out the stream to write the fields to
+         * @throws IOException if the fields cannot be written
+         */
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Appends a record of the operation running on the calling thread, and counts it towards the next checkpoint.
+     * @param type the type of the record
+     * @param record the action that writes the fields of the record
+     * @return the ticket of the record, to be passed to sync, or 0 if it is part of an operation and is synced with its commit marker
+     */
+    private long record(byte type, RecordWriter record) {
+        long operation = ChangeSet.journaled(this);
+        long ticket = this.append(type, operation, record);
+        this.centralManager.mutated();
+        return operation == NO_OPERATION ? ticket : 0;
+    }
+
+    /**
+     * Encodes a record and appends it to the journal without waiting for it to reach the disk.
+     * @param type the type of the record
+     * @param operation the ID of the operation the record belongs to
+     * @param record the action that writes the fields of the record
+     * @return the ticket of the record
+     */
+    private long append(byte type, long operation, RecordWriter record) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            out.writeLong(operation);
+            record.writeTo(out);
+            out.flush();
+            return this.journal.append(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the journal", e);
+        }
+    }
+
+    /**
+     * Waits until the record with the given ticket is on disk.
+     * @param ticket the ticket returned by append, or 0 for a record that is synced with the commit marker of its operation
+     */
+    void sync(long ticket) {
+        if (ticket == 0) {
+            return;
+        }
+        try {
+            this.journal.sync(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the journal", e);
+        }
+    }
+
+    /**
+     * Applies every record of a committed operation in the journal to the data of the central manager, in batches of
+     * REPLAY_BATCH_SIZE records, and prints how long recovery took and how many records per second were read.
+     * The journal is read twice: first to find the operations whose commit marker is on disk, then to apply their records.
+     * Operation IDs handed out afterwards are higher than any found in the journal, so the records of an operation that was
+     * cut short are never taken for those of a later one.
+     * Must be called before the journal is attached to the stores and users, so that replaying does not journal the changes again.
+     * @return the number of records read
+     * @throws IOException if the journal cannot be read
+     */
+    public long replay() throws IOException {
+        long start = System.nanoTime();
+        HashSet<Long> committed = new HashSet<>();
+        committed.add(NO_OPERATION);
+        this.journal.recover(REPLAY_BATCH_SIZE, batch -> this.scanBatch(batch, committed));
+        long[] skipped = new long[1];
+        long count = this.journal.recover(REPLAY_BATCH_SIZE, batch -> skipped[0] += this.applyBatch(batch, committed));
+        if (count > 0) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Recovered %d journal records in %.1f ms (%.0f records/sec)%n", count, seconds * 1000, seconds > 0 ? count / seconds : 0);
+        }
+        if (skipped[0] > 0) {
+            System.out.println("Skipped " + skipped[0] + " journal records of operations that were not committed");
+        }
+        return count;
+    }
+
+    /**
+     * Adds the operations whose commit marker is in a batch of records to the set of committed operations,
+     * and makes sure later operation IDs are higher than every ID in the batch.
+     * @param batch the payloads of the records, in the order they were written
+     * @param committed the IDs of the committed operations
+     * @throws IOException if a record cannot be decoded
+     */
+    private void scanBatch(ArrayList<byte[]> batch, HashSet<Long> committed) throws IOException {
+        for (byte[] payload: batch) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte type = in.readByte();
+            long operation = in.readLong();
+            if (type == COMMIT) {
+                committed.add(operation);
+            }
+            this.lastOperation.accumulateAndGet(operation, Math::max);
+        }
+    }
+
+    /**
+     * Applies the records of committed operations in a batch to the data of the central manager.
+     * Since every record holds the full state of a project, request or user, only the last record for each of them in the batch
+     * needs to be applied, so the batch is first reduced to the latest state of each, and that state is then written straight
+     * into the stores and users. New requests are added in order of submission and new projects in the order they first appear.
+     * A new request must be the next one in order of submission; a record of a request further on means records are missing,
+     * and recovery stops rather than attach the later records to the wrong requests.
+     * A request submitted by an operation that was not committed still holds its position, since the requests submitted after it
+     * are numbered from it, so it is added as rejected; every other record of such an operation is left out.
+     * The data files of the replayed changes are marked dirty, so the next checkpoint saves them before the journal is emptied.
+     * @param batch the payloads of the records, in the order they were written
+     * @param committed the IDs of the committed operations
+     * @return the number of records of operations that were not committed
+     * @throws IOException if a record cannot be decoded or the records of new requests are missing
+     */
+    private long applyBatch(ArrayList<byte[]> batch, HashSet<Long> committed) throws IOException {
+        LinkedHashMap<Integer, Project> projects = new LinkedHashMap<>();
+        TreeMap<Integer, Request> requests = new TreeMap<>();
+        TreeMap<Integer, Request> abandoned = new TreeMap<>();
+        LinkedHashMap<String, DataInputStream> users = new LinkedHashMap<>();
+        long skipped = 0;
+        for (byte[] payload: batch) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte type = in.readByte();
+            boolean isCommitted = committed.contains(in.readLong());
+            if (type == COMMIT) {
+                continue;
+            }
+            if (!isCommitted) {
+                skipped++;
+            }
+            if (type == PROJECT) {
+                Project project = new Project(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF(), ProjectStatus.fromCode(in.readByte()), in.readUTF());
+                if (isCommitted) {
+                    projects.put(project.getProjectID(), project);
+                }
+            } else if (type == REQUEST) {
+                int seq = in.readInt();
+                int projectID = in.readInt();
+                RequestType requestType = RequestType.values()[in.readByte()];
+                RequestStatus requestStatus = RequestStatus.values()[in.readByte()];
+                LocalDate date = LocalDate.ofEpochDay(in.readLong());
+                String requesteeID = in.readUTF();
+                String updatedValue = in.readUTF();
+                if (isCommitted) {
+                    requests.put(seq, new Request(projectID, requestType, requesteeID, requestStatus, date, updatedValue));
+                } else {
+                    abandoned.putIfAbsent(seq, new Request(projectID, requestType, requesteeID, RequestStatus.REJECTED, date, updatedValue));
+                }
+            } else if (type == USER) {
+                String userID = in.readUTF();
+                if (isCommitted) {
+                    users.put(userID, in);
+                }
+            } else {
+                throw new IOException("Unknown journal record type " + type);
+            }
+        }
+
+        if (!projects.isEmpty()) {
+            this.centralManager.markDirty(DataFile.PROJECTS);
+        }
+        if (!requests.isEmpty() || !abandoned.isEmpty()) {
+            this.centralManager.markDirty(DataFile.REQUESTS);
+        }
+        if (!users.isEmpty()) {
+            this.centralManager.markDirty(DataFile.USERS);
+        }
+
+        ProjectStore projectStore = this.centralManager.getProjectStore();
+        for (Project state: projects.values()) {
+            Project project = projectStore.get(state.getProjectID());
+            if (project == null) {
+                projectStore.add(state);
+            } else {
+                project.setProjectTitle(state.getProjectTitle());
+                project.setStudentID(state.getStudentID());
+                project.setSupervisorID(state.getSupervisorID());
+                project.setProjectStatus(state.getStatus());
+            }
+        }
+
+        RequestStore requestStore = this.centralManager.getRequestStore();
+        TreeMap<Integer, Request> submitted = new TreeMap<>(abandoned);
+        submitted.putAll(requests);
+        for (Map.Entry<Integer, Request> entry: submitted.entrySet()) {
+            if (entry.getKey() < requestStore.size()) {
+                if (requests.containsKey(entry.getKey())) {
+                    requestStore.get(entry.getKey()).setStatus(entry.getValue().getRequestStatus());
+                }
+            } else if (entry.getKey() == requestStore.size()) {
+                requestStore.add(entry.getValue());
+            } else {
+                throw new IOException("Journal record for request " + entry.getKey() + " follows only " + requestStore.size() + " requests");
+            }
+        }
+
+        for (Map.Entry<String, DataInputStream> entry: users.entrySet()) {
+            User user = this.centralManager.getUserByID(entry.getKey());
+            String password = entry.getValue().readUTF();
+            int registeredProject = entry.getValue().readInt();
+            int projectCap = entry.getValue().readInt();
+            if (user != null) {
+                user.setPassword(password);
+                if (user instanceof Student && registeredProject != NO_PROJECT) {
+                    ((Student) user).setRegisteredProject(registeredProject);
+                }
+                if (user instanceof Supervisor) {
+                    ((Supervisor) user).setProjectCap(projectCap);
+                }
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * return the journal the records are written to
+     * @return Journal
+     */
+    public Journal getJournal() {
+        return this.journal;
+    }
+}
@@ -0,0 +1,146 @@
+package entity;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ChangeSet class collects the projects and requests changed by the operation running on the calling thread,
+ * and publishes them once the operation is committed.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ChangeSet {
+    /**
+     * The change set of the operation running on each thread
+     */
+    private static final ThreadLocal<ChangeSet> CURRENT = new ThreadLocal<>();
+    /**
+     * The projects changed by the operation, grouped by the store that holds them
+     */
+    private final Map<ProjectStore, LinkedHashSet<Project>> projects;
+    /**
+     * The requests whose status was changed by the operation, grouped by the store that holds them
+     */
+    private final Map<RequestStore, LinkedHashSet<Request>> requests;
+    /**
+     * The journal the operation wrote its records to, or null if it has not written any
+     */
+    private ChangeJournal journal;
+    /**
+     * The ID the journal records of the operation are tagged with, or 0 if it has not written any
+     */
+    private long operation;
+    /**
+     * The number of journal records the operation has written
+     */
+    private int records;
+
+    /**
+     * Constructs an empty ChangeSet.
+     */
+    private ChangeSet() {
+        this.projects = new IdentityHashMap<>();
+        this.requests = new IdentityHashMap<>();
+    }
+
+    /**
+     * Begins a change set on the calling thread, unless an operation already running on the thread has one.
+     * @return true if a change set was begun and must be committed or aborted by the caller, false if the caller is part of
+     * an operation that will commit it
+     */
+    public static boolean begin() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new ChangeSet());
+        return true;
+    }
+
+    /**
+     * Ends the change set of the calling thread, writes its commit marker to the journal and waits until it is on disk,
+     * and then publishes the new versions of everything it changed.
+     * If the marker cannot be written, nothing is published and the exception is thrown.
+     */
+    public static void commit() {
+        ChangeSet changeSet = CURRENT.get();
+        CURRENT.remove();
+        if (changeSet == null) {
+            return;
+        }
+        if (changeSet.journal != null) {
+            changeSet.journal.commit(changeSet.operation);
+        }
+        changeSet.projects.forEach(ProjectStore::publish);
+        changeSet.requests.forEach(RequestStore::publish);
+    }
+
+    /**
+     * Ends the change set of the calling thread without writing its commit marker or publishing anything it changed,
+     * after its operation failed.
+     * @return true if the operation had already changed data, which the journal will not replay but which stays changed in memory
+     */
+    public static boolean abort() {
+        ChangeSet changeSet = CURRENT.get();
+        CURRENT.remove();
+        return changeSet != null && changeSet.records > 0;
+    }
+
+    /**
+     * return the number of journal records written so far by the operation running on the calling thread
+     * @return int
+     */
+    static int records() {
+        ChangeSet changeSet = CURRENT.get();
+        return changeSet == null ? 0 : changeSet.records;
+    }
+
+    /**
+     * Counts a journal record of the operation running on the calling thread and returns the ID to tag it with,
+     * taking a new operation ID from the journal for its first record.
+     * @param journal the journal the record is written to
+     * @return the operation ID, or 0 if no operation is running on the calling thread and the record commits itself
+     */
+    static long journaled(ChangeJournal journal) {
+        ChangeSet changeSet = CURRENT.get();
+        if (changeSet == null) {
+            return 0;
+        }
+        if (changeSet.journal == null) {
+            changeSet.journal = journal;
+            changeSet.operation = journal.nextOperation();
+        }
+        changeSet.records++;
+        return changeSet.operation;
+    }
+
+    /**
+     * Records that a project changed, publishing its new version now if no operation is running on the calling thread.
+     * @param store the store that holds the project
+     * @param project the project that changed
+     */
+    static void projectChanged(ProjectStore store, Project project) {
+        ChangeSet changeSet = CURRENT.get();
+        if (changeSet == null) {
+            store.publish(List.of(project));
+        } else {
+            changeSet.projects.computeIfAbsent(store, k -> new LinkedHashSet<>()).add(project);
+        }
+    }
+
+    /**
+     * Records that the status of a request changed, publishing it now if no operation is running on the calling thread.
+     * @param store the store that holds the request
+     * @param request the request whose status changed
+     */
+    static void requestChanged(RequestStore store, Request request) {
+        ChangeSet changeSet = CURRENT.get();
+        if (changeSet == null) {
+            store.publish(List.of(request));
+        } else {
+            changeSet.requests.computeIfAbsent(store, k -> new LinkedHashSet<>()).add(request);
+        }
+    }
+}
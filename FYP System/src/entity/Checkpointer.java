@@ -0,0 +1,124 @@
+package entity;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Checkpointer class saves the data files and archives old closed requests in the background, on its own thread.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Checkpointer {
+    /**
+     * The number of seconds between two periodic checkpoints
+     */
+    public static final int INTERVAL_SECONDS = Integer.getInteger("fyp.checkpoint.interval", 300);
+    /**
+     * The number of journaled changes after which a checkpoint runs without waiting for the next periodic one
+     */
+    public static final int MUTATION_THRESHOLD = Integer.getInteger("fyp.checkpoint.mutations", 1000);
+    /**
+     * The number of hours between two runs of archival
+     */
+    public static final int ARCHIVE_INTERVAL_HOURS = Integer.getInteger("fyp.archive.interval", 24);
+    /**
+     * The central manager whose data is saved
+     */
+    private final CentralManager centralManager;
+    /**
+     * The executor running the checkpoints on a single background thread
+     */
+    private final ScheduledExecutorService executor;
+    /**
+     * The number of changes journaled since the last checkpoint started
+     */
+    private final AtomicLong mutations;
+    /**
+     * Whether a checkpoint triggered by the number of changes is waiting to run
+     */
+    private final AtomicBoolean triggered;
+
+    /**
+     * Constructs a Checkpointer that saves the data of the given central manager.
+     * @param centralManager the central manager whose data is saved
+     */
+    public Checkpointer(CentralManager centralManager) {
+        this.centralManager = centralManager;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mutations = new AtomicLong();
+        this.triggered = new AtomicBoolean();
+    }
+
+    /**
+     * Starts the periodic checkpoints and archival runs.
+     */
+    public void start() {
+        this.executor.scheduleWithFixedDelay(this::run, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+        this.executor.scheduleWithFixedDelay(this::archive, ARCHIVE_INTERVAL_HOURS, ARCHIVE_INTERVAL_HOURS, TimeUnit.HOURS);
+    }
+
+    /**
+     * Counts one journaled change, and starts a checkpoint in the background once MUTATION_THRESHOLD changes have been counted.
+     */
+    void mutated() {
+        if (this.mutations.incrementAndGet() >= MUTATION_THRESHOLD) {
+            this.trigger();
+        }
+    }
+
+    /**
+     * Starts a checkpoint in the background without waiting for the next periodic one.
+     */
+    public void trigger() {
+        if (this.triggered.compareAndSet(false, true)) {
+            this.executor.execute(this::run);
+        }
+    }
+
+    /**
+     * Runs one checkpoint. Errors are printed rather than thrown, so that a failed checkpoint does not cancel the periodic ones.
+     */
+    private void run() {
+        this.mutations.set(0);
+        this.triggered.set(false);
+        try {
+            this.centralManager.checkpoint();
+        } catch (RuntimeException e) {
+            System.out.println("Checkpoint failed, the changes remain in the journal.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Runs one archival run. Errors are printed rather than thrown, so that a failed run does not cancel the periodic ones.
+     */
+    private void archive() {
+        try {
+            this.centralManager.archiveClosedRequests();
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Archiving closed requests failed, they remain in the request store.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stops the periodic checkpoints and waits for a running checkpoint to finish.
+     */
+    public void stop() {
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
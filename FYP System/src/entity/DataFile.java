@@ -0,0 +1,43 @@
+package entity;
+
+/**
+ * The data files the system keeps its users, projects and requests in.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum DataFile {
+    /**
+     * The file holding all users
+     */
+    USERS("Users.txt"),
+    /**
+     * The file holding all projects
+     */
+    PROJECTS("Projects.txt"),
+    /**
+     * The file holding all requests
+     */
+    REQUESTS("Requests.txt");
+
+    /**
+     * The name of the file in the data folder
+     */
+    private final String fileName;
+
+    /**
+     * Constructs a data file with its file name.
+     * @param fileName the name of the file in the data folder
+     */
+    DataFile(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * return the name of the file in the data folder
+     * @return String
+     */
+    public String getFileName() {
+        return this.fileName;
+    }
+}
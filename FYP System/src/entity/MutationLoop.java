@@ -0,0 +1,237 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * The MutationLoop class applies every change to the data in batches on a single writer thread, when fyp.mutations.singlewriter is true.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class MutationLoop {
+    /**
+     * Whether changes are applied by a MutationLoop rather than by the sessions themselves
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("fyp.mutations.singlewriter");
+    /**
+     * The largest number of operations applied in one batch
+     */
+    public static final int BATCH_SIZE = Integer.getInteger("fyp.mutations.batch", 256);
+    /**
+     * The central manager whose data is changed
+     */
+    private final CentralManager centralManager;
+    /**
+     * The operations waiting to be applied, in the order they were queued
+     */
+    private final BlockingQueue<Command<?>> queue;
+    /**
+     * The thread that applies the operations
+     */
+    private final Thread writer;
+    /**
+     * The command queued last by stop(), after which the writer thread ends
+     */
+    private final Command<Void> stopCommand;
+    /**
+     * Whether stop() has been called, after which no more operations are queued, guarded by the queue
+     */
+    private boolean stopped;
+
+    /**
+     * An operation waiting to be applied and the result its session is waiting for.
+     * @param <T> the type of the result
+     */
+    private static class Command<T> {
+        /**
+         * The operation to apply
+         */
+        private final Supplier<T> operation;
+        /**
+         * The result of the operation, completed once its batch is on disk
+         */
+        private final CompletableFuture<T> result;
+        /**
+         * The value returned by the operation
+         */
+        private T value;
+        /**
+         * The exception thrown by the operation, or null if it returned normally
+         */
+        private Throwable failure;
+
+        /**
+         * Constructs a Command for the given operation.
+         * @param operation the operation to apply
+         */
+        Command(Supplier<T> operation) {
+            this.operation = operation;
+            this.result = new CompletableFuture<>();
+        }
+
+        /**
+         * Applies the operation and keeps its value or the exception it threw.
+         */
+        void apply() {
+            try {
+                this.value = this.operation.get();
+            } catch (RuntimeException | Error e) {
+                this.failure = e;
+            }
+        }
+
+        /**
+         * Answers the waiting session with the value or exception of the operation, or with the given failure of its batch.
+         * @param batchFailure the exception that stopped the batch from being published or journaled, or null if it was journaled
+         */
+        void complete(Throwable batchFailure) {
+            if (this.failure != null) {
+                this.result.completeExceptionally(this.failure);
+            } else if (batchFailure != null) {
+                this.result.completeExceptionally(batchFailure);
+            } else {
+                this.result.complete(this.value);
+            }
+        }
+    }
+
+    /**
+     * Constructs a MutationLoop that applies changes to the data of the given central manager.
+     * @param centralManager the central manager whose data is changed
+     */
+    public MutationLoop(CentralManager centralManager) {
+        this.centralManager = centralManager;
+        this.queue = new LinkedBlockingQueue<>();
+        this.writer = new Thread(this::run, "mutation-writer");
+        this.writer.setDaemon(true);
+        this.stopCommand = new Command<>(() -> null);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public void start() {
+        this.writer.start();
+    }
+
+    /**
+     * Stops taking new operations and waits until the writer thread has applied the ones already queued.
+     */
+    public void stop() {
+        synchronized (this.queue) {
+            if (this.stopped) {
+                return;
+            }
+            this.stopped = true;
+            this.queue.add(this.stopCommand);
+        }
+        try {
+            this.writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * return whether the calling thread is the writer thread, which applies operations directly
+     * @return boolean
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == this.writer;
+    }
+
+    /**
+     * Queues an operation, waits until the batch it is applied in is on disk and returns its result.
+     * An exception thrown by the operation is thrown again on the calling thread.
+     * @param operation the operation to apply, which must not depend on the Session of the calling thread
+     * @param <T> the type of the result
+     * @return the result of the operation
+     * @throws IllegalStateException if the MutationLoop has been stopped
+     */
+    public <T> T submit(Supplier<T> operation) {
+        Command<T> command = new Command<>(operation);
+        synchronized (this.queue) {
+            if (this.stopped) {
+                throw new IllegalStateException("No changes are accepted after the system was shut down");
+            }
+            this.queue.add(command);
+        }
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the waiting operations in batches and applies them, until it takes the command queued by stop().
+     */
+    private void run() {
+        ArrayList<Command<?>> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            this.queue.drainTo(batch, BATCH_SIZE - 1);
+            boolean stopping = batch.remove(this.stopCommand);
+            if (!batch.isEmpty()) {
+                this.apply(batch);
+            }
+            batch.clear();
+            if (stopping) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of operations in the order they were queued, while holding the state lock in shared mode so that
+     * a checkpoint never copies the data in the middle of a batch. The changes of the whole batch are then published to
+     * the snapshots and their journal records forced to disk at once, and only then are the sessions answered.
+     * An operation that throws before changing data only fails itself. If it throws after changing data, or the batch
+     * cannot be committed, the whole batch is discarded, every session of it is answered with the failure, and the
+     * CentralManager stops accepting changes, so every later batch is answered with that failure too.
+     * @param batch the operations to apply
+     */
+    private void apply(ArrayList<Command<?>> batch) {
+        Lock lock = this.centralManager.getStateLock().readLock();
+        Throwable batchFailure = null;
+        lock.lock();
+        try {
+            this.centralManager.checkWritable();
+            ChangeSet.begin();
+            for (Command<?> command: batch) {
+                int records = ChangeSet.records();
+                command.apply();
+                if (command.failure != null && ChangeSet.records() > records) {
+                    throw new IllegalStateException("An operation failed part-way, so its batch was discarded", command.failure);
+                }
+            }
+            ChangeSet.commit();
+        } catch (RuntimeException | Error e) {
+            ChangeSet.abort();
+            this.centralManager.failed(e);
+            batchFailure = e;
+        } finally {
+            lock.unlock();
+            for (Command<?> command: batch) {
+                command.complete(batchFailure);
+            }
+        }
+    }
+}
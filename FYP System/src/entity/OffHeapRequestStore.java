@@ -0,0 +1,464 @@
+package entity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The OffHeapRequestStore class keeps every request as a fixed-width record in a direct ByteBuffer outside the Java heap,
+ * and returns Request objects as flyweight views of those records.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class OffHeapRequestStore extends RequestStore {
+    /**
+     * The size in bytes of one request record
+     */
+    private static final int RECORD_SIZE = 20;
+    /**
+     * The offset of the type ordinal in a record
+     */
+    private static final int TYPE = 0;
+    /**
+     * The offset of the status ordinal in a record
+     */
+    private static final int STATUS = 1;
+    /**
+     * The offset of the date, as an epoch day, in a record
+     */
+    private static final int DATE = 4;
+    /**
+     * The offset of the project ID in a record
+     */
+    private static final int PROJECT_ID = 8;
+    /**
+     * The offset of the arena offset of the requestee ID in a record
+     */
+    private static final int REQUESTEE = 12;
+    /**
+     * The offset of the arena offset of the updated value in a record
+     */
+    private static final int VALUE = 16;
+    /**
+     * The initial number of records the record buffer has room for
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+    /**
+     * The request types, indexed by ordinal
+     */
+    private static final RequestType[] TYPES = RequestType.values();
+    /**
+     * The request statuses, indexed by ordinal
+     */
+    private static final RequestStatus[] STATUSES = RequestStatus.values();
+    /**
+     * The buffer holding the request records, outside the Java heap
+     */
+    private ByteBuffer records;
+    /**
+     * The buffer holding the strings of the requests, each as its length followed by its UTF-8 bytes, outside the Java heap
+     */
+    private ByteBuffer arena;
+    /**
+     * The number of requests stored
+     */
+    private int count;
+    /**
+     * The arena offset of every requestee ID, and of the empty value, so each is stored once
+     */
+    private final HashMap<String, Integer> symbolOffsets;
+    /**
+     * The requestee ID stored at each arena offset in symbolOffsets, so it is not decoded again
+     */
+    private final HashMap<Integer, String> symbols;
+    /**
+     * The positions of the requests made by each user, keyed by requestee ID
+     */
+    private final HashMap<String, IntList> byRequestee;
+    /**
+     * The positions of the requests made for each project, keyed by project ID
+     */
+    private final HashMap<Integer, IntList> byProject;
+    /**
+     * The positions of the requests in each status, indexed by status ordinal
+     */
+    private final IntList[] byStatus;
+    /**
+     * The positions of the requests of each type in each status, indexed by type ordinal and then status ordinal
+     */
+    private final IntList[][] byTypeStatus;
+
+    /**
+     * Constructs an OffHeapRequestStore holding the given requests.
+     * The requests are copied into records, so the list and its objects can be discarded afterwards.
+     * @param requests the list of requests to store, in order of submission
+     */
+    public OffHeapRequestStore(ArrayList<Request> requests) {
+        super();
+        this.records = ByteBuffer.allocateDirect(Math.max(INITIAL_CAPACITY, requests.size()) * RECORD_SIZE);
+        this.arena = ByteBuffer.allocateDirect(Math.max(INITIAL_CAPACITY, requests.size()) * 16);
+        this.symbolOffsets = new HashMap<>();
+        this.symbols = new HashMap<>();
+        this.byRequestee = new HashMap<>();
+        this.byProject = new HashMap<>();
+        this.byStatus = new IntList[STATUSES.length];
+        this.byTypeStatus = new IntList[TYPES.length][STATUSES.length];
+        for (int status = 0; status < STATUSES.length; status++) {
+            this.byStatus[status] = new IntList();
+            for (int type = 0; type < TYPES.length; type++) {
+                this.byTypeStatus[type][status] = new IntList();
+            }
+        }
+        for (Request request: requests) {
+            this.append(request);
+        }
+    }
+
+    /**
+     * Adds a new request to the store. The request becomes a flyweight of its new record.
+     * @param request the request to add
+     */
+    @Override
+    public void add(Request request) {
+        long ticket;
+        synchronized (this) {
+            this.append(request);
+            ticket = this.appendRecord(request);
+        }
+        this.syncRecord(ticket);
+    }
+
+    /**
+     * Writes a request into a new record and indexes it by requestee, project, status and type.
+     * @param request the request to append
+     */
+    private void append(Request request) {
+        if (this.records.remaining() < RECORD_SIZE) {
+            this.records = grow(this.records, RECORD_SIZE);
+        }
+        int seq = this.count++;
+        int base = seq * RECORD_SIZE;
+        this.records.put(base + TYPE, (byte) request.getRequestType().ordinal());
+        this.records.put(base + STATUS, (byte) request.getRequestStatus().ordinal());
+        this.records.putInt(base + DATE, (int) request.getDate().toEpochDay());
+        this.records.putInt(base + PROJECT_ID, request.getProjectID());
+        this.records.putInt(base + REQUESTEE, this.symbolOffset(request.getRequesteeID()));
+        String value = request.getUpdatedValue();
+        this.records.putInt(base + VALUE, value.isEmpty() ? this.symbolOffset(value) : this.store(value));
+        this.records.position(base + RECORD_SIZE);
+        this.byRequestee.computeIfAbsent(request.getRequesteeID(), k -> new IntList()).add(seq);
+        this.byProject.computeIfAbsent(request.getProjectID(), k -> new IntList()).add(seq);
+        this.byStatus[request.getRequestStatus().ordinal()].add(seq);
+        this.byTypeStatus[request.getRequestType().ordinal()][request.getRequestStatus().ordinal()].add(seq);
+        request.setSeq(seq);
+        request.setStore(this);
+        this.track(request);
+    }
+
+    /**
+     * Keeps no reference to a newly stored request, since snapshots read the fields of requests from their records.
+     * @param request the request that was stored
+     */
+    @Override
+    void remember(Request request) {
+    }
+
+    /**
+     * return the source a snapshot reads the unchanging fields of each request from, which are the records
+     * @return IntFunction
+     */
+    @Override
+    IntFunction<Request> snapshotSource() {
+        return this::detached;
+    }
+
+    /**
+     * return a copy of the request at the given position that is not attached to its record
+     * @param seq the position of the request
+     * @return Request
+     */
+    private synchronized Request detached(int seq) {
+        return this.materialize(seq, false);
+    }
+
+    /**
+     * return the arena offset of a string stored once for every request that uses it, storing it the first time
+     * @param symbol the requestee ID or empty value
+     * @return int
+     */
+    private int symbolOffset(String symbol) {
+        Integer offset = this.symbolOffsets.get(symbol);
+        if (offset == null) {
+            offset = this.store(symbol);
+            this.symbolOffsets.put(symbol, offset);
+            this.symbols.put(offset, symbol);
+        }
+        return offset;
+    }
+
+    /**
+     * Appends a string to the arena.
+     * @param string the string to store
+     * @return the arena offset of the string
+     */
+    private int store(String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (this.arena.remaining() < 4 + bytes.length) {
+            this.arena = grow(this.arena, 4 + bytes.length);
+        }
+        int offset = this.arena.position();
+        this.arena.putInt(bytes.length);
+        this.arena.put(bytes);
+        return offset;
+    }
+
+    /**
+     * return the string stored at an arena offset
+     * @param offset the arena offset of the string
+     * @return String
+     */
+    private String load(int offset) {
+        String symbol = this.symbols.get(offset);
+        if (symbol != null) {
+            return symbol;
+        }
+        byte[] bytes = new byte[this.arena.getInt(offset)];
+        this.arena.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * return a larger direct buffer with the contents of the given one, positioned after them
+     * @param buffer the full buffer
+     * @param needed the number of free bytes needed
+     * @return ByteBuffer
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int used = buffer.position();
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, used + needed));
+        larger.put(buffer.duplicate().flip());
+        return larger;
+    }
+
+    /**
+     * Creates a Request object from the record at the given position.
+     * @param seq the position of the request
+     * @param attached whether the object is a flyweight whose status changes are written back to the record
+     * @return Request
+     */
+    private Request materialize(int seq, boolean attached) {
+        int base = seq * RECORD_SIZE;
+        Request request = new Request(this.records.getInt(base + PROJECT_ID), TYPES[this.records.get(base + TYPE)],
+                this.load(this.records.getInt(base + REQUESTEE)), STATUSES[this.records.get(base + STATUS)],
+                LocalDate.ofEpochDay(this.records.getInt(base + DATE)), this.load(this.records.getInt(base + VALUE)));
+        if (attached) {
+            request.setSeq(seq);
+            request.setStore(this);
+        }
+        return request;
+    }
+
+    /**
+     * return the status of a flyweight as held in its record
+     * @param request the flyweight of the request
+     * @return RequestStatus
+     */
+    @Override
+    synchronized RequestStatus statusOf(Request request) {
+        return STATUSES[this.records.get(request.getSeq() * RECORD_SIZE + STATUS)];
+    }
+
+    /**
+     * Writes the new status of a flyweight back into its record, moves it from the lists of its old status to those of its new
+     * status, and journals it.
+     * @param request the request whose status changed
+     * @param oldStatus the previous status of the request
+     * @param newStatus the new status of the request
+     */
+    @Override
+    void statusChanged(Request request, RequestStatus oldStatus, RequestStatus newStatus) {
+        synchronized (this) {
+            int seq = request.getSeq();
+            int type = request.getRequestType().ordinal();
+            this.records.put(seq * RECORD_SIZE + STATUS, (byte) newStatus.ordinal());
+            this.byStatus[oldStatus.ordinal()].remove(seq);
+            this.byTypeStatus[type][oldStatus.ordinal()].remove(seq);
+            this.byStatus[newStatus.ordinal()].insert(seq);
+            this.byTypeStatus[type][newStatus.ordinal()].insert(seq);
+        }
+        this.changed(request);
+        ChangeSet.requestChanged(this, request);
+    }
+
+    /**
+     * return flyweights of the requests at the given positions
+     * @param positions the positions of the requests, or null for none
+     * @return ArrayList
+     */
+    private ArrayList<Request> materializeAll(IntList positions) {
+        ArrayList<Request> requests = new ArrayList<>();
+        if (positions != null) {
+            for (int i = 0; i < positions.size; i++) {
+                requests.add(this.materialize(positions.items[i], true));
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * return flyweights of the requests made by the given user, in order of submission
+     * @param requesteeID the ID of the user who made the requests
+     * @return ArrayList
+     */
+    @Override
+    public synchronized ArrayList<Request> getRequestsByRequestee(String requesteeID) {
+        return this.materializeAll(this.byRequestee.get(requesteeID));
+    }
+
+    /**
+     * return flyweights of the requests made for the given project, in order of submission
+     * @param projectID the ID of the project
+     * @return ArrayList
+     */
+    @Override
+    public synchronized ArrayList<Request> getRequestsByProject(Integer projectID) {
+        return this.materializeAll(this.byProject.get(projectID));
+    }
+
+    /**
+     * return flyweights of the requests in the given status, in order of submission
+     * @param status the status of request
+     * @return ArrayList
+     */
+    @Override
+    public synchronized ArrayList<Request> getRequestsByStatus(RequestStatus status) {
+        return this.materializeAll(this.byStatus[status.ordinal()]);
+    }
+
+    /**
+     * return flyweights of the requests of the given type in the given status, in order of submission
+     * @param type the type of request
+     * @param status the status of request, or null to match every status
+     * @return ArrayList
+     */
+    @Override
+    public synchronized ArrayList<Request> getRequestsByTypeAndStatus(RequestType type, RequestStatus status) {
+        if (status != null) {
+            return this.materializeAll(this.byTypeStatus[type.ordinal()][status.ordinal()]);
+        }
+        ArrayList<Request> requests = new ArrayList<>();
+        for (IntList positions: this.byTypeStatus[type.ordinal()]) {
+            requests.addAll(this.materializeAll(positions));
+        }
+        sortBySubmission(requests);
+        return requests;
+    }
+
+    /**
+     * return flyweights of all requests in the order they were submitted
+     * @return ArrayList
+     */
+    @Override
+    public synchronized ArrayList<Request> getRequests() {
+        ArrayList<Request> requests = new ArrayList<>(this.count);
+        for (int seq = 0; seq < this.count; seq++) {
+            requests.add(this.materialize(seq, true));
+        }
+        return requests;
+    }
+
+    /**
+     * return the flyweight of the request at the given position in order of submission
+     * @param seq the position of the request
+     * @return Request
+     */
+    @Override
+    public synchronized Request get(int seq) {
+        if (seq < 0 || seq >= this.count) {
+            throw new IndexOutOfBoundsException("No request at position " + seq);
+        }
+        return this.materialize(seq, true);
+    }
+
+    /**
+     * return a stream of all requests in the order they were submitted, creating each flyweight only when the stream reaches it
+     * @return Stream
+     */
+    @Override
+    public Stream<Request> stream() {
+        return IntStream.range(0, this.size()).mapToObj(this::get);
+    }
+
+    /**
+     * return the number of requests stored
+     * @return int
+     */
+    @Override
+    public synchronized int size() {
+        return this.count;
+    }
+
+    /**
+     * A growable list of request positions, kept in ascending order.
+     */
+    private static class IntList {
+        /**
+         * The positions, of which the first size are used
+         */
+        private int[] items = new int[4];
+        /**
+         * The number of positions in the list
+         */
+        private int size;
+
+        /**
+         * Adds a position to the end of the list.
+         * @param item the position to add
+         */
+        void add(int item) {
+            if (this.size == this.items.length) {
+                this.items = Arrays.copyOf(this.items, this.size * 2);
+            }
+            this.items[this.size++] = item;
+        }
+
+        /**
+         * Adds a position to the list in ascending order. A request that changes status is usually a recent one,
+         * so the position is usually inserted near the end.
+         * @param item the position to add
+         */
+        void insert(int item) {
+            int index = Arrays.binarySearch(this.items, 0, this.size, item);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (this.size == this.items.length) {
+                this.items = Arrays.copyOf(this.items, this.size * 2);
+            }
+            System.arraycopy(this.items, index, this.items, index + 1, this.size - index);
+            this.items[index] = item;
+            this.size++;
+        }
+
+        /**
+         * Removes a position from the list, if it is there.
+         * @param item the position to remove
+         */
+        void remove(int item) {
+            int index = Arrays.binarySearch(this.items, 0, this.size, item);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(this.items, index + 1, this.items, index, this.size - index - 1);
+            this.size--;
+        }
+    }
+}
@@ -1,4 +1,6 @@
 package entity;
+import utils.SymbolTable;
+
 /**
  * A class representing a Project entity in the system.
  * @author Khoo Yong Hui
@@ -13,23 +15,27 @@ public class Project {
     /**
      * projectTitle (String) - title of the project
      */
-    private String projectTitle;
+    private volatile String projectTitle;
     /**
      * supervisorID (String) - the ID of the supervisor assigned the project
      */
-    private String supervisorID;
+    private volatile String supervisorID;
     /**
      * studentID (String) - the ID of the student assigned to the project
      */
-    private String studentID;
+    private volatile String studentID;
     /**
      * projectStatus (int) - must be -2, -1, 0, or 1 (representing "unavailable", "allocated", "reserved", or "available")
      */
-    private int projectStatus;
+    private volatile ProjectStatus projectStatus;
     /**
      * createdBy (String) - the ID of the supervisor who created the project
      */
     private String createdBy;
+    /**
+     * store (ProjectStore) - the store that indexes this project, notified whenever a field changes
+     */
+    private ProjectStore store;
 
     /**
      * Constructs a new Project object with the given parameters.
@@ -40,13 +46,13 @@ public class Project {
      * @param projectStatus the status of the project (available, reserved, unavailable or allocated)
      * @param createdBy the ID of the supervisor who created the project
      */
-    public Project(int projectID, String supervisorID, String studentID, String projectTitle, int projectStatus, String createdBy) {
+    public Project(int projectID, String supervisorID, String studentID, String projectTitle, ProjectStatus projectStatus, String createdBy) {
         this.projectID = projectID;
         this.projectTitle = projectTitle;
-        this.supervisorID = supervisorID;
+        this.supervisorID = SymbolTable.canonical(supervisorID);
         this.projectStatus = projectStatus;
-        this.studentID = studentID;
-        this.createdBy = createdBy;
+        this.studentID = SymbolTable.canonical(studentID);
+        this.createdBy = SymbolTable.canonical(createdBy);
     }
 
     /**
@@ -73,10 +79,18 @@ public class Project {
     }
 
     /**
-     * return the status of the project (available, reserved, unavailable or allocated)
+     * return the status code of the project (1 available, 0 reserved, -2 unavailable or -1 allocated)
      * @return Integer
      */
     public int getProjectStatus() {
+        return this.projectStatus.getCode();
+    }
+
+    /**
+     * return the status of the project (available, reserved, unavailable or allocated)
+     * @return ProjectStatus
+     */
+    public ProjectStatus getStatus() {
         return this.projectStatus;
     }
     /**
@@ -101,26 +115,54 @@ public class Project {
      */
     public void setProjectTitle(String projectTitle) {
         this.projectTitle = projectTitle;
+        if (this.store != null) {
+            this.store.changed(this);
+        }
     }
     /**
      * Sets the status of the project.
      * @param projectStatus the new status of the project (available, reserved, unavailable or allocated)
      */
-    public void setProjectStatus(int projectStatus) {
+    public void setProjectStatus(ProjectStatus projectStatus) {
+        ProjectStatus oldStatus = this.projectStatus;
         this.projectStatus = projectStatus;
+        if (this.store != null) {
+            this.store.statusChanged(this, oldStatus);
+        }
     }
     /**
      * Sets the ID of the student assigned to the project.
      * @param studentID the new ID of the student assigned to the project
      */
     public void setStudentID(String studentID) {
-        this.studentID = studentID;
+        this.studentID = SymbolTable.canonical(studentID);
+        if (this.store != null) {
+            this.store.changed(this);
+        }
     }
     /**
      * Sets the ID of the supervisor supervising the project.
      * @param newSupervisorID the new ID of the supervisor supervising the project
      */
     public void setSupervisorID(String newSupervisorID) {
-        this.supervisorID = newSupervisorID;
+        String oldSupervisorID = this.supervisorID;
+        this.supervisorID = SymbolTable.canonical(newSupervisorID);
+        if (this.store != null) {
+            this.store.supervisorChanged(this, oldSupervisorID);
+        }
+    }
+    /**
+     * return a copy of the project that is not indexed by any store, used to save the project while it keeps changing
+     * @return Project
+     */
+    Project copy() {
+        return new Project(this.projectID, this.supervisorID, this.studentID, this.projectTitle, this.projectStatus, this.createdBy);
+    }
+    /**
+     * Sets the store that indexes this project.
+     * @param store the ProjectStore that indexes this project
+     */
+    void setStore(ProjectStore store) {
+        this.store = store;
     }
 }
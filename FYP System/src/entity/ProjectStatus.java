@@ -0,0 +1,84 @@
+package entity;
+
+/**
+ * The statuses a project can be in, with the code used for each in the data files and the text shown on screen.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum ProjectStatus {
+    /**
+     * The project cannot be selected because its supervisor has reached the project cap
+     */
+    UNAVAILABLE(-2, "unavailable"),
+    /**
+     * The project has been allocated to a student
+     */
+    ALLOCATED(-1, "allocated"),
+    /**
+     * A student has requested the project and the request is pending
+     */
+    RESERVED(0, "reserved"),
+    /**
+     * The project can be selected by students
+     */
+    AVAILABLE(1, "available");
+
+    /**
+     * The code of the project status as written in the data files
+     */
+    private final int code;
+    /**
+     * The text of the project status as shown on screen
+     */
+    private final String text;
+
+    /**
+     * Constructs a project status with its code and text.
+     * @param code the code of the project status
+     * @param text the text of the project status
+     */
+    ProjectStatus(int code, String text) {
+        this.code = code;
+        this.text = text;
+    }
+
+    /**
+     * return the code of the project status as written in the data files
+     * @return int
+     */
+    public int getCode() {
+        return this.code;
+    }
+
+    /**
+     * return the text of the project status as shown on screen
+     * @return String
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Returns the project status with the given code. Any code other than 1, 0 or -1 is treated as unavailable.
+     * @param code the code of the project status
+     * @return the matching ProjectStatus
+     */
+    public static ProjectStatus fromCode(int code) {
+        return switch (code) {
+            case 1 -> AVAILABLE;
+            case 0 -> RESERVED;
+            case -1 -> ALLOCATED;
+            default -> UNAVAILABLE;
+        };
+    }
+
+    /**
+     * return the text of the project status
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return this.text;
+    }
+}
@@ -0,0 +1,479 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The ProjectStore class keeps every project in a dense array indexed by project ID,
+ * with copy-on-write indexes by supervisor, creator and status.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ProjectStore {
+    /**
+     * The list of projects in the order they were added
+     */
+    private final ArrayList<Project> projects;
+    /**
+     * The current indexes of the projects, replaced as a whole on every change
+     */
+    private volatile Index index;
+    /**
+     * The read-only copy of every project as last published, indexed by project ID, with null for unused IDs
+     */
+    private volatile Project[] versions;
+    /**
+     * The journal that records every change to the stored projects, or null if changes are not journaled
+     */
+    private ChangeJournal journal;
+
+    /**
+     * Constructs a ProjectStore over the given list of projects and indexes all of them.
+     * @param projects the list of projects to store
+     */
+    public ProjectStore(ArrayList<Project> projects) {
+        this.projects = projects;
+        Index index = new Index(Math.max(16, projects.size() + 1));
+        for (Project project: projects) {
+            index.add(project, this);
+        }
+        index.seal();
+        this.index = index;
+        this.versions = new Project[index.slots.length];
+        this.publish(projects);
+    }
+
+    /**
+     * Adds a new project to the store.
+     * @param project the project to add
+     */
+    public void add(Project project) {
+        synchronized (this) {
+            this.projects.add(project);
+            Index index = this.index.copy();
+            index.add(project, this);
+            index.seal();
+            this.index = index;
+        }
+        this.changed(project);
+    }
+
+    /**
+     * Sets the journal that records every change to the stored projects.
+     * @param journal the ChangeJournal to record changes in
+     */
+    void setJournal(ChangeJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Records the new state of a project in the journal, if there is one.
+     * Called by the project itself whenever a field is changed.
+     * @param project the project that changed
+     */
+    void changed(Project project) {
+        if (this.journal != null) {
+            this.journal.projectChanged(project);
+        }
+        ChangeSet.projectChanged(this, project);
+    }
+
+    /**
+     * Replaces the published copies of the given projects with copies of their current state.
+     * Called when the operation that changed them is committed.
+     * @param projects the projects to publish
+     */
+    synchronized void publish(Collection<Project> projects) {
+        Project[] versions = Arrays.copyOf(this.versions, Math.max(this.versions.length, this.index.slots.length));
+        for (Project project: projects) {
+            int projectID = project.getProjectID();
+            if (projectID >= 0 && projectID < versions.length && this.index.slots[projectID] == project) {
+                versions[projectID] = project.copy();
+            }
+        }
+        this.versions = versions;
+    }
+
+    /**
+     * return a read-only copy of every project as it was after the last operation that changed it, in order of project ID.
+     * The copies are not indexed by the store and do not change afterwards, so they can be read without any lock
+     * @return List
+     */
+    public List<Project> snapshot() {
+        ArrayList<Project> projects = new ArrayList<>();
+        for (Project project: this.versions) {
+            if (project != null) {
+                projects.add(project);
+            }
+        }
+        return Collections.unmodifiableList(projects);
+    }
+
+    /**
+     * Moves a project from the old supervisor's index entry to the new supervisor's.
+     * Called by the project itself whenever its supervisor ID is changed.
+     * @param project the project whose supervisor changed
+     * @param oldSupervisorID the ID of the previous supervisor
+     */
+    void supervisorChanged(Project project, String oldSupervisorID) {
+        synchronized (this) {
+            Index index = this.index.copy();
+            int projectID = project.getProjectID();
+            if (index.bySupervisor.containsKey(oldSupervisorID)) {
+                index.supervised(oldSupervisorID).clear(projectID);
+            }
+            index.supervised(project.getSupervisorID()).set(projectID);
+            if (project.getStatus() == ProjectStatus.ALLOCATED) {
+                index.countAllocated(oldSupervisorID, -1);
+                index.countAllocated(project.getSupervisorID(), 1);
+            }
+            index.seal();
+            this.index = index;
+        }
+        this.changed(project);
+    }
+
+    /**
+     * Updates the allocated count of the project's supervisor when the project moves into or out of the allocated status.
+     * Called by the project itself whenever its status is changed.
+     * @param project the project whose status changed
+     * @param oldStatus the previous status of the project
+     */
+    void statusChanged(Project project, ProjectStatus oldStatus) {
+        synchronized (this) {
+            Index index = this.index.copy();
+            ProjectStatus newStatus = project.getStatus();
+            if (oldStatus == ProjectStatus.ALLOCATED && newStatus != ProjectStatus.ALLOCATED) {
+                index.countAllocated(project.getSupervisorID(), -1);
+            } else if (oldStatus != ProjectStatus.ALLOCATED && newStatus == ProjectStatus.ALLOCATED) {
+                index.countAllocated(project.getSupervisorID(), 1);
+            }
+            index.inStatus(oldStatus).clear(project.getProjectID());
+            index.inStatus(newStatus).set(project.getProjectID());
+            index.seal();
+            this.index = index;
+        }
+        this.changed(project);
+    }
+
+    /**
+     * return the IDs of the projects matching a status and a supervisor, in order of project ID
+     * @param status the status to filter by, or null to match every status
+     * @param supervisorID the ID of the supervisor to filter by, or null to match every supervisor
+     * @return int[]
+     */
+    public int[] getProjectIDs(ProjectStatus status, String supervisorID) {
+        Index index = this.index;
+        BitSet projectIDs;
+        if (status != null) {
+            projectIDs = (BitSet) index.byStatus[status.ordinal()].clone();
+        } else {
+            projectIDs = (BitSet) index.allIDs.clone();
+        }
+        if (supervisorID != null) {
+            projectIDs.and(index.bySupervisor.getOrDefault(supervisorID, new BitSet()));
+        }
+        return projectIDs.stream().toArray();
+    }
+
+    /**
+     * return the number of projects currently allocated under the given supervisor
+     * @param supervisorID the ID of the supervisor
+     * @return int
+     */
+    public int getAllocatedCount(String supervisorID) {
+        return this.index.allocatedCounts.getOrDefault(supervisorID, 0);
+    }
+
+    /**
+     * return the projects whose IDs are set in the given set, in order of project ID
+     * @param index the indexes the set was taken from
+     * @param projectIDs the set of project IDs
+     * @return ArrayList
+     */
+    private static ArrayList<Project> resolve(Index index, BitSet projectIDs) {
+        ArrayList<Project> projects = new ArrayList<>();
+        if (projectIDs == null) {
+            return projects;
+        }
+        for (int projectID = projectIDs.nextSetBit(0); projectID >= 0; projectID = projectIDs.nextSetBit(projectID + 1)) {
+            projects.add(index.slots[projectID]);
+        }
+        return projects;
+    }
+
+    /**
+     * return the projects currently supervised by the given supervisor, in order of project ID
+     * @param supervisorID the ID of the supervisor
+     * @return ArrayList
+     */
+    public ArrayList<Project> getProjectsBySupervisorID(String supervisorID) {
+        Index index = this.index;
+        return resolve(index, index.bySupervisor.get(supervisorID));
+    }
+
+    /**
+     * return the projects created by the given supervisor, in order of project ID
+     * @param createdBy the ID of the supervisor who created the projects
+     * @return ArrayList
+     */
+    public ArrayList<Project> getProjectsByCreator(String createdBy) {
+        Index index = this.index;
+        return resolve(index, index.byCreator.get(createdBy));
+    }
+
+    /**
+     * return the project with the given ID, as indexed by the published Index, so a project still being added is not returned
+     * @param projectID the ID of the project
+     * @return Project, or null if no such project exists
+     */
+    public Project get(int projectID) {
+        Index index = this.index;
+        if (projectID < 0 || !index.allIDs.get(projectID)) {
+            return null;
+        }
+        return index.slots[projectID];
+    }
+
+    /**
+     * return the next unused project ID, which is one more than the highest ID stored or reserved
+     * @return int
+     */
+    public int nextProjectID() {
+        return this.index.maxProjectID + 1;
+    }
+
+    /**
+     * return a new project ID that no other caller is given, for a project about to be added
+     * @return int
+     */
+    public synchronized int reserveProjectID() {
+        Index index = this.index.copy();
+        index.maxProjectID++;
+        index.seal();
+        this.index = index;
+        return index.maxProjectID;
+    }
+
+    /**
+     * return the list of all projects in the order they were added
+     * @return ArrayList
+     */
+    public ArrayList<Project> getProjects() {
+        return this.projects;
+    }
+
+    /**
+     * return the number of projects stored
+     * @return int
+     */
+    public synchronized int size() {
+        return this.projects.size();
+    }
+
+    /**
+     * The indexes of the stored projects at one point in time. A published Index is never changed: a change copies it,
+     * replaces the sets and maps it touches with copies, changes those in place and publishes the copy.
+     * An Index keeps track of the sets and maps it copied or created itself until it is sealed for publishing,
+     * so a change that touches the same set several times, or the building of the first Index, copies each of them at most once.
+     */
+    private static class Index {
+        /**
+         * The projects indexed by their project ID, with null for unused IDs
+         */
+        private Project[] slots;
+        /**
+         * The highest project ID stored or reserved so far
+         */
+        private int maxProjectID;
+        /**
+         * The IDs of the projects supervised by each supervisor, keyed by supervisor ID
+         */
+        private HashMap<String, BitSet> bySupervisor;
+        /**
+         * The IDs of the projects created by each supervisor, keyed by creator ID
+         */
+        private HashMap<String, BitSet> byCreator;
+        /**
+         * The number of allocated projects of each supervisor, keyed by supervisor ID
+         */
+        private HashMap<String, Integer> allocatedCounts;
+        /**
+         * The IDs of all indexed projects
+         */
+        private BitSet allIDs;
+        /**
+         * The IDs of the projects in each status, indexed by the ordinal of the status
+         */
+        private final BitSet[] byStatus;
+        /**
+         * The sets and maps this Index copied or created itself and may still change in place, until it is sealed
+         */
+        private final Set<Object> owned;
+
+        /**
+         * Constructs an empty Index with room for the given number of project IDs.
+         * @param capacity the number of project IDs to make room for
+         */
+        Index(int capacity) {
+            this.owned = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.slots = new Project[capacity];
+            this.bySupervisor = this.own(new HashMap<String, BitSet>());
+            this.byCreator = this.own(new HashMap<String, BitSet>());
+            this.allocatedCounts = this.own(new HashMap<String, Integer>());
+            this.allIDs = this.own(new BitSet());
+            this.byStatus = new BitSet[ProjectStatus.values().length];
+            for (int i = 0; i < this.byStatus.length; i++) {
+                this.byStatus[i] = this.own(new BitSet());
+            }
+        }
+
+        /**
+         * Constructs a copy of an Index that shares its sets and maps, which are copied before they are changed, and its array
+         * of slots, in which a slot is only ever filled once and is only seen through the sets after the copy is published.
+         * @param other the Index to copy
+         */
+        private Index(Index other) {
+            this.owned = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.slots = other.slots;
+            this.maxProjectID = other.maxProjectID;
+            this.bySupervisor = other.bySupervisor;
+            this.byCreator = other.byCreator;
+            this.allocatedCounts = other.allocatedCounts;
+            this.allIDs = other.allIDs;
+            this.byStatus = other.byStatus.clone();
+        }
+
+        /**
+         * Marks a set or map as created by this Index, so it may be changed in place until the Index is sealed.
+         * @param created the set or map created by this Index
+         * @param <T> the type of the set or map
+         * @return the given set or map
+         */
+        private <T> T own(T created) {
+            this.owned.add(created);
+            return created;
+        }
+
+        /**
+         * Forgets which sets and maps this Index may change, before it is published and can no longer be changed.
+         */
+        void seal() {
+            this.owned.clear();
+        }
+
+        /**
+         * return a set of project IDs that this Index may change, copying the given one if it is shared with a published Index
+         * @param projectIDs the set of project IDs, or null for an empty set
+         * @return BitSet
+         */
+        private BitSet writable(BitSet projectIDs) {
+            if (projectIDs == null) {
+                return this.own(new BitSet());
+            }
+            return this.owned.contains(projectIDs) ? projectIDs : this.own((BitSet) projectIDs.clone());
+        }
+
+        /**
+         * return a map that this Index may change, copying the given one if it is shared with a published Index
+         * @param map the map
+         * @param <V> the type of the values of the map
+         * @return HashMap
+         */
+        private <V> HashMap<String, V> writable(HashMap<String, V> map) {
+            return this.owned.contains(map) ? map : this.own(new HashMap<String, V>(map));
+        }
+
+        /**
+         * return the set of IDs of the projects supervised by a supervisor, which this Index may change
+         * @param supervisorID the ID of the supervisor
+         * @return BitSet
+         */
+        BitSet supervised(String supervisorID) {
+            this.bySupervisor = this.writable(this.bySupervisor);
+            BitSet projectIDs = this.writable(this.bySupervisor.get(supervisorID));
+            this.bySupervisor.put(supervisorID, projectIDs);
+            return projectIDs;
+        }
+
+        /**
+         * return the set of IDs of the projects created by a supervisor, which this Index may change
+         * @param createdBy the ID of the supervisor who created the projects
+         * @return BitSet
+         */
+        BitSet created(String createdBy) {
+            this.byCreator = this.writable(this.byCreator);
+            BitSet projectIDs = this.writable(this.byCreator.get(createdBy));
+            this.byCreator.put(createdBy, projectIDs);
+            return projectIDs;
+        }
+
+        /**
+         * return the set of IDs of the projects in a status, which this Index may change
+         * @param status the status
+         * @return BitSet
+         */
+        BitSet inStatus(ProjectStatus status) {
+            BitSet projectIDs = this.writable(this.byStatus[status.ordinal()]);
+            this.byStatus[status.ordinal()] = projectIDs;
+            return projectIDs;
+        }
+
+        /**
+         * return a copy of this Index to make a change in
+         * @return Index
+         */
+        Index copy() {
+            return new Index(this);
+        }
+
+        /**
+         * Places a project in its slot of the dense array, growing the array when the ID does not fit.
+         * If two projects share an ID, the first one added is kept.
+         * @param project the project to index
+         * @param store the store the project belongs to
+         */
+        void add(Project project, ProjectStore store) {
+            int projectID = project.getProjectID();
+            if (projectID < 0) {
+                return;
+            }
+            if (projectID >= this.slots.length) {
+                this.slots = Arrays.copyOf(this.slots, Math.max(projectID + 1, this.slots.length * 2));
+            }
+            if (this.slots[projectID] == null) {
+                this.slots[projectID] = project;
+                project.setStore(store);
+                this.supervised(project.getSupervisorID()).set(projectID);
+                this.created(project.getCreatedBy()).set(projectID);
+                if (project.getStatus() == ProjectStatus.ALLOCATED) {
+                    this.countAllocated(project.getSupervisorID(), 1);
+                }
+                this.allIDs = this.writable(this.allIDs);
+                this.allIDs.set(projectID);
+                this.inStatus(project.getStatus()).set(projectID);
+            }
+            if (projectID > this.maxProjectID) {
+                this.maxProjectID = projectID;
+            }
+        }
+
+        /**
+         * Adds a change to the allocated count of a supervisor.
+         * @param supervisorID the ID of the supervisor
+         * @param change the amount to add to the count
+         */
+        void countAllocated(String supervisorID, int change) {
+            this.allocatedCounts = this.writable(this.allocatedCounts);
+            this.allocatedCounts.merge(supervisorID, change, Integer::sum);
+        }
+    }
+}
@@ -1,4 +1,6 @@
 package entity;
+import utils.SymbolTable;
+
 import java.time.LocalDate;
 
 /**
@@ -13,11 +15,11 @@ public class Request {
     /**
      * The type of request [changeTitle, register, deRegister, changeSupervisor].
      */
-    private String type;
+    private RequestType type;
     /**
      * The status of request [pending , approved , rejected]
      */
-    private String status;
+    private volatile RequestStatus status;
     /**
      * Date when request is sent
      */
@@ -34,6 +36,14 @@ public class Request {
      *  Stored new title or new supervisor which requestor which to change to
      */
     private String updatedValue;
+    /**
+     * Position of the request in order of submission, given by the store that indexes it
+     */
+    private int seq;
+    /**
+     * The store that indexes this request, notified when its status changes
+     */
+    private RequestStore store;
 
     /**
      * Constructs a request object using data from a file.
@@ -45,9 +55,22 @@ public class Request {
      * @param updatedValue the updated value for the project title or supervisor
      */
     public Request(Integer projectID, String type, String requesteeID, String status, LocalDate date, String updatedValue){
+        this(projectID, RequestType.fromText(type), requesteeID, RequestStatus.fromText(status), date, updatedValue);
+    }
+
+    /**
+     * Constructs a request object from already decoded type and status.
+     * @param projectID    the ID of the project
+     * @param type         the type of request
+     * @param requesteeID  the ID of the user making the request
+     * @param status       the status of the request
+     * @param date         the date the request was made
+     * @param updatedValue the updated value for the project title or supervisor
+     */
+    public Request(Integer projectID, RequestType type, String requesteeID, RequestStatus status, LocalDate date, String updatedValue){
         this.type = type;
         this.projectID = projectID;
-        this.requesteeID = requesteeID;
+        this.requesteeID = SymbolTable.canonical(requesteeID);
         this.status = status;
         this.updatedValue = updatedValue;
         this.date = date;
@@ -60,21 +83,24 @@ public class Request {
      * @param requesteeID the ID of the user making the request
      * @param updatedValue the updated value for the project title or supervisor
      */
-    public Request(Integer projectID, String type, String requesteeID, String updatedValue){
-        this.type = type;
-        this.projectID = projectID;
-        this.requesteeID = requesteeID;
-        this.status = "pending";
-        this.updatedValue = updatedValue;
-        this.date = LocalDate.now();
+    public Request(Integer projectID, RequestType type, String requesteeID, String updatedValue){
+        this(projectID, type, requesteeID, RequestStatus.PENDING, LocalDate.now(), updatedValue);
     }
 
     /**
-     * return the type of the request
+     * return the type of the request as text
      * @return String
      */
     public String getType() {
-        return type;
+        return this.type.getText();
+    }
+
+    /**
+     * return the type of the request
+     * @return RequestType
+     */
+    public RequestType getRequestType() {
+        return this.type;
     }
 
     /**
@@ -110,19 +136,77 @@ public class Request {
     }
 
     /**
-     * return the status of the request
+     * return the status of the request as text
      * @return String
      */
     public String getStatus() {
-        return status;
+        return this.getRequestStatus().getText();
+    }
+
+    /**
+     * return the status of the request, read from the store for a request whose store keeps the status itself
+     * @return RequestStatus
+     */
+    public RequestStatus getRequestStatus() {
+        RequestStore store = this.currentStore();
+        RequestStatus stored = store == null ? null : store.statusOf(this);
+        return stored != null ? stored : this.status;
     }
 
     /**
      * Sets the status of the request.
      * @param status the new status of the request
      */
-    public void setStatus(String status) {
+    public void setStatus(RequestStatus status) {
+        RequestStatus oldStatus = this.getRequestStatus();
         this.status = status;
+        RequestStore store = this.currentStore();
+        if (store != null) {
+            store.statusChanged(this, oldStatus, status);
+        }
+    }
+
+    /**
+     * return the store that holds this request now, following the stores that replaced the one it was fetched from when
+     * closed requests were archived. A request that was archived stays with the store it was last in
+     * @return RequestStore
+     */
+    private RequestStore currentStore() {
+        RequestStore store = this.store;
+        while (store != null && store.getSuccessor() != null) {
+            int seq = store.successorSeq(this.seq);
+            if (seq < 0) {
+                break;
+            }
+            store = store.getSuccessor();
+            this.seq = seq;
+            this.store = store;
+        }
+        return store;
+    }
+
+    /**
+     * return the position of the request in order of submission
+     * @return int
+     */
+    int getSeq() {
+        return this.seq;
+    }
+
+    /**
+     * Sets the position of the request in order of submission.
+     * @param seq the position of the request
+     */
+    void setSeq(int seq) {
+        this.seq = seq;
+    }
+
+    /**
+     * Sets the store that indexes this request.
+     * @param store the RequestStore that indexes this request
+     */
+    void setStore(RequestStore store) {
+        this.store = store;
     }
 }
 
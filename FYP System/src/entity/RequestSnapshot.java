@@ -0,0 +1,91 @@
+package entity;
+
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The RequestSnapshot class is a point-in-time view of the requests of a RequestStore, each in the status it had when the snapshot was published.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestSnapshot {
+    /**
+     * The number of bits of a request's position that select its slot within a chunk
+     */
+    static final int CHUNK_SHIFT = 10;
+    /**
+     * The number of requests in a chunk
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    /**
+     * The request statuses, indexed by ordinal
+     */
+    private static final RequestStatus[] STATUSES = RequestStatus.values();
+    /**
+     * The number of requests in the snapshot
+     */
+    private final int count;
+    /**
+     * The status ordinal of every request in the snapshot, in chunks of CHUNK_SIZE by position
+     */
+    private final byte[][] statuses;
+    /**
+     * The source of the unchanging fields of the request at each position
+     */
+    private final IntFunction<Request> source;
+
+    /**
+     * Constructs a RequestSnapshot of the first count requests of a store.
+     * @param count the number of requests in the snapshot
+     * @param statuses the status ordinal of every request, in chunks by position, which must not be changed afterwards
+     * @param source the source of the request at each position
+     */
+    RequestSnapshot(int count, byte[][] statuses, IntFunction<Request> source) {
+        this.count = count;
+        this.statuses = statuses;
+        this.source = source;
+    }
+
+    /**
+     * return the number of requests in the snapshot
+     * @return int
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * return the status the request at the given position had when the snapshot was published
+     * @param seq the position of the request in order of submission
+     * @return RequestStatus
+     */
+    public RequestStatus getStatus(int seq) {
+        return STATUSES[this.statuses[seq >> CHUNK_SHIFT][seq & (CHUNK_SIZE - 1)]];
+    }
+
+    /**
+     * return a read-only copy of the request at the given position as it was when the snapshot was published
+     * @param seq the position of the request in order of submission
+     * @return Request
+     */
+    public Request get(int seq) {
+        if (seq < 0 || seq >= this.count) {
+            throw new IndexOutOfBoundsException("No request at position " + seq);
+        }
+        Request request = this.source.apply(seq);
+        Request copy = new Request(request.getProjectID(), request.getRequestType(), request.getRequesteeID(), this.getStatus(seq), request.getDate(), request.getUpdatedValue());
+        copy.setSeq(seq);
+        return copy;
+    }
+
+    /**
+     * return a stream of read-only copies of the requests in the snapshot in the order they were submitted,
+     * each created only when the stream reaches it
+     * @return Stream
+     */
+    public Stream<Request> stream() {
+        return IntStream.range(0, this.count).mapToObj(this::get);
+    }
+}
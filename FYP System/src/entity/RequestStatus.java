@@ -0,0 +1,67 @@
+package entity;
+
+/**
+ * The statuses a request can be in, with the text used for each in the data files and on screen.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum RequestStatus {
+    /**
+     * The request has not been processed yet
+     */
+    PENDING("pending"),
+    /**
+     * The request has been approved
+     */
+    APPROVED("approved"),
+    /**
+     * The request has been rejected
+     */
+    REJECTED("rejected");
+
+    /**
+     * The text of the request status as written in the data files
+     */
+    private final String text;
+
+    /**
+     * Constructs a request status with its text.
+     * @param text the text of the request status
+     */
+    RequestStatus(String text) {
+        this.text = text;
+    }
+
+    /**
+     * return the text of the request status as written in the data files
+     * @return String
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Returns the request status with the given text, ignoring case, so both "Pending" and "pending" are accepted.
+     * @param text the text of the request status
+     * @return the matching RequestStatus
+     * @throws IllegalArgumentException if no request status has the given text
+     */
+    public static RequestStatus fromText(String text) {
+        for (RequestStatus status: values()) {
+            if (status.text.equalsIgnoreCase(text)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown request status: " + text);
+    }
+
+    /**
+     * return the text of the request status
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return this.text;
+    }
+}
@@ -0,0 +1,403 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * The RequestStore class keeps every request in order of submission, with indexes by requestee, project, status and type.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestStore {
+    /**
+     * Whether requests are kept outside the Java heap in an OffHeapRequestStore, set with the system property fyp.requests.offheap
+     */
+    public static final boolean OFF_HEAP = Boolean.getBoolean("fyp.requests.offheap");
+    /**
+     * The list of requests in the order they were submitted
+     */
+    private ArrayList<Request> requests;
+    /**
+     * The requests made by each user, keyed by requestee ID
+     */
+    private HashMap<String, ArrayList<Request>> byRequestee;
+    /**
+     * The requests made for each project, keyed by project ID
+     */
+    private HashMap<Integer, ArrayList<Request>> byProject;
+    /**
+     * The requests in each status, keyed by status and ordered by submission
+     */
+    private EnumMap<RequestStatus, TreeMap<Integer, Request>> byStatus;
+    /**
+     * The requests of each type in each status, keyed by type and then status and ordered by submission
+     */
+    private EnumMap<RequestType, EnumMap<RequestStatus, TreeMap<Integer, Request>>> byTypeStatus;
+    /**
+     * The sequence number given to the next request added
+     */
+    private int nextSeq;
+    /**
+     * The journal that records every submitted request and status change, or null if changes are not journaled
+     */
+    private ChangeJournal journal;
+    /**
+     * The requests in order of submission, in chunks of RequestSnapshot.CHUNK_SIZE, whose slots are filled once and never changed
+     */
+    private Request[][] references = new Request[0][];
+    /**
+     * The status ordinal of every request as last published, in chunks of RequestSnapshot.CHUNK_SIZE by position
+     */
+    private byte[][] statuses = new byte[0][];
+    /**
+     * The snapshot of the requests as last published
+     */
+    private volatile RequestSnapshot snapshot = new RequestSnapshot(0, this.statuses, this.snapshotSource());
+    /**
+     * The position in the successor of every request of this store, or -1 for the requests that were archived
+     */
+    private int[] successorSeqs;
+    /**
+     * The store that replaced this one when closed requests were archived, or null while this store is in use
+     */
+    private volatile RequestStore successor;
+
+    /**
+     * Constructs a RequestStore over the given list of requests and indexes all of them.
+     * @param requests the list of requests to store
+     */
+    public RequestStore(ArrayList<Request> requests) {
+        this.requests = requests;
+        this.byRequestee = new HashMap<String, ArrayList<Request>>();
+        this.byProject = new HashMap<Integer, ArrayList<Request>>();
+        this.byStatus = new EnumMap<RequestStatus, TreeMap<Integer, Request>>(RequestStatus.class);
+        this.byTypeStatus = new EnumMap<RequestType, EnumMap<RequestStatus, TreeMap<Integer, Request>>>(RequestType.class);
+        for (RequestType type: RequestType.values()) {
+            this.byTypeStatus.put(type, new EnumMap<RequestStatus, TreeMap<Integer, Request>>(RequestStatus.class));
+            for (RequestStatus status: RequestStatus.values()) {
+                this.byTypeStatus.get(type).put(status, new TreeMap<>());
+            }
+        }
+        for (RequestStatus status: RequestStatus.values()) {
+            this.byStatus.put(status, new TreeMap<>());
+        }
+        this.nextSeq = 0;
+        for (Request request: requests) {
+            this.index(request);
+        }
+    }
+
+    /**
+     * Constructs an empty RequestStore without indexes, for subclasses that keep the requests themselves.
+     */
+    RequestStore() {
+    }
+
+    /**
+     * return a new store over the given list of requests, kept outside the Java heap if OFF_HEAP is set
+     * @param requests the list of requests to store, in order of submission
+     * @return RequestStore
+     */
+    public static RequestStore create(ArrayList<Request> requests) {
+        return OFF_HEAP ? new OffHeapRequestStore(requests) : new RequestStore(requests);
+    }
+
+    /**
+     * Adds a new request to the store. Its journal record is appended while the store is locked, so the records of new
+     * requests are in the same order as their sequence numbers, and the record is then waited for after the lock is released.
+     * @param request the request to add
+     */
+    public void add(Request request) {
+        long ticket;
+        synchronized (this) {
+            this.requests.add(request);
+            this.index(request);
+            ticket = this.appendRecord(request);
+        }
+        this.syncRecord(ticket);
+    }
+
+    /**
+     * return a new store holding the given requests of this store, which replaces this one from then on.
+     * Request objects fetched from this store before are forwarded to their position in the new store when they are next
+     * read or changed, and the requests left out, which must be closed, keep reading their last status from this store.
+     * Must only be called while no request is added or changed.
+     * @param kept the requests of this store to keep, in order of submission
+     * @return RequestStore
+     */
+    RequestStore retain(ArrayList<Request> kept) {
+        int[] successorSeqs = new int[this.size()];
+        Arrays.fill(successorSeqs, -1);
+        for (int i = 0; i < kept.size(); i++) {
+            successorSeqs[kept.get(i).getSeq()] = i;
+        }
+        RequestStore successor = create(kept);
+        successor.setJournal(this.journal);
+        this.successorSeqs = successorSeqs;
+        this.successor = successor;
+        return successor;
+    }
+
+    /**
+     * return the store that replaced this one, or null while this store is in use
+     * @return RequestStore
+     */
+    RequestStore getSuccessor() {
+        return this.successor;
+    }
+
+    /**
+     * return the position in the successor of the request at the given position of this store
+     * @param seq the position of the request in this store
+     * @return int, or -1 if the request was archived
+     */
+    int successorSeq(int seq) {
+        return this.successorSeqs[seq];
+    }
+
+    /**
+     * Sets the journal that records every submitted request and status change.
+     * @param journal the ChangeJournal to record changes in
+     */
+    void setJournal(ChangeJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Records the new state of a request in the journal, if there is one.
+     * @param request the request that was added or changed
+     */
+    void changed(Request request) {
+        if (this.journal != null) {
+            this.journal.requestChanged(request);
+        }
+    }
+
+    /**
+     * Appends the journal record of a new request without waiting for it to reach the disk, if there is a journal.
+     * @param request the request that was added
+     * @return the ticket of the record, or 0 if changes are not journaled
+     */
+    long appendRecord(Request request) {
+        return this.journal == null ? 0 : this.journal.appendRequest(request);
+    }
+
+    /**
+     * Waits until the journal record with the given ticket is on disk, if there is a journal.
+     * @param ticket the ticket returned by appendRecord
+     */
+    void syncRecord(long ticket) {
+        if (this.journal != null) {
+            this.journal.sync(ticket);
+        }
+    }
+
+    /**
+     * Gives a request its sequence number and adds it to every index.
+     * @param request the request to index
+     */
+    private void index(Request request) {
+        request.setSeq(this.nextSeq++);
+        request.setStore(this);
+        this.byRequestee.computeIfAbsent(request.getRequesteeID(), k -> new ArrayList<>()).add(request);
+        this.byProject.computeIfAbsent(request.getProjectID(), k -> new ArrayList<>()).add(request);
+        this.byStatus.get(request.getRequestStatus()).put(request.getSeq(), request);
+        this.byTypeStatus.get(request.getRequestType()).get(request.getRequestStatus()).put(request.getSeq(), request);
+        this.track(request);
+    }
+
+    /**
+     * Adds a newly stored request to the snapshot and publishes it. The request's slots lie beyond every published snapshot,
+     * so they are filled in place.
+     * @param request the request that was stored, with its sequence number set
+     */
+    void track(Request request) {
+        int seq = request.getSeq();
+        int chunk = seq >> RequestSnapshot.CHUNK_SHIFT;
+        if (chunk >= this.statuses.length) {
+            this.statuses = Arrays.copyOf(this.statuses, chunk + 1);
+            this.statuses[chunk] = new byte[RequestSnapshot.CHUNK_SIZE];
+        }
+        this.statuses[chunk][seq & (RequestSnapshot.CHUNK_SIZE - 1)] = (byte) request.getRequestStatus().ordinal();
+        this.remember(request);
+        this.snapshot = new RequestSnapshot(seq + 1, this.statuses, this.snapshotSource());
+    }
+
+    /**
+     * Keeps a reference to a newly stored request for the snapshots to read its fields from.
+     * @param request the request that was stored, with its sequence number set
+     */
+    void remember(Request request) {
+        int seq = request.getSeq();
+        int chunk = seq >> RequestSnapshot.CHUNK_SHIFT;
+        if (chunk >= this.references.length) {
+            this.references = Arrays.copyOf(this.references, chunk + 1);
+            this.references[chunk] = new Request[RequestSnapshot.CHUNK_SIZE];
+        }
+        this.references[chunk][seq & (RequestSnapshot.CHUNK_SIZE - 1)] = request;
+    }
+
+    /**
+     * return the source a snapshot reads the unchanging fields of each request from
+     * @return IntFunction
+     */
+    IntFunction<Request> snapshotSource() {
+        Request[][] references = this.references;
+        return seq -> references[seq >> RequestSnapshot.CHUNK_SHIFT][seq & (RequestSnapshot.CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * Publishes the current statuses of the given requests in a new snapshot, copying each chunk of statuses that changes.
+     * Called when the operation that changed them is committed.
+     * @param requests the requests whose status changed
+     */
+    synchronized void publish(Collection<Request> requests) {
+        byte[][] statuses = this.statuses.clone();
+        BitSet copied = new BitSet();
+        for (Request request: requests) {
+            int seq = request.getSeq();
+            int chunk = seq >> RequestSnapshot.CHUNK_SHIFT;
+            if (!copied.get(chunk)) {
+                statuses[chunk] = statuses[chunk].clone();
+                copied.set(chunk);
+            }
+            statuses[chunk][seq & (RequestSnapshot.CHUNK_SIZE - 1)] = (byte) request.getRequestStatus().ordinal();
+        }
+        this.statuses = statuses;
+        this.snapshot = new RequestSnapshot(this.snapshot.size(), statuses, this.snapshotSource());
+    }
+
+    /**
+     * return the snapshot of the requests as last published, which can be read without any lock and does not change afterwards
+     * @return RequestSnapshot
+     */
+    public RequestSnapshot snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * return the status of a request as kept by the store, or null if the request object itself holds its status
+     * @param request the request stored in this store
+     * @return RequestStatus
+     */
+    RequestStatus statusOf(Request request) {
+        return null;
+    }
+
+    /**
+     * Moves a request from the buckets of its old status to the buckets of its new status.
+     * Called by the request itself whenever its status is changed.
+     * @param request the request whose status changed
+     * @param oldStatus the previous status of the request
+     * @param newStatus the new status of the request
+     */
+    void statusChanged(Request request, RequestStatus oldStatus, RequestStatus newStatus) {
+        synchronized (this) {
+            this.byStatus.get(oldStatus).remove(request.getSeq());
+            this.byTypeStatus.get(request.getRequestType()).get(oldStatus).remove(request.getSeq());
+            this.byStatus.get(newStatus).put(request.getSeq(), request);
+            this.byTypeStatus.get(request.getRequestType()).get(newStatus).put(request.getSeq(), request);
+        }
+        this.changed(request);
+        ChangeSet.requestChanged(this, request);
+    }
+
+    /**
+     * return the requests made by the given user, in order of submission
+     * @param requesteeID the ID of the user who made the requests
+     * @return ArrayList
+     */
+    public synchronized ArrayList<Request> getRequestsByRequestee(String requesteeID) {
+        return new ArrayList<>(this.byRequestee.getOrDefault(requesteeID, new ArrayList<>()));
+    }
+
+    /**
+     * return the requests made for the given project, in order of submission
+     * @param projectID the ID of the project
+     * @return ArrayList
+     */
+    public synchronized ArrayList<Request> getRequestsByProject(Integer projectID) {
+        return new ArrayList<>(this.byProject.getOrDefault(projectID, new ArrayList<>()));
+    }
+
+    /**
+     * return the requests in the given status, in order of submission
+     * @param status the status of request
+     * @return ArrayList
+     */
+    public synchronized ArrayList<Request> getRequestsByStatus(RequestStatus status) {
+        return new ArrayList<>(this.byStatus.get(status).values());
+    }
+
+    /**
+     * return the requests of the given type in the given status, in order of submission
+     * @param type the type of request
+     * @param status the status of request, or null to match every status
+     * @return ArrayList
+     */
+    public synchronized ArrayList<Request> getRequestsByTypeAndStatus(RequestType type, RequestStatus status) {
+        if (status != null) {
+            return new ArrayList<>(this.byTypeStatus.get(type).get(status).values());
+        }
+        ArrayList<Request> requests = new ArrayList<>();
+        for (TreeMap<Integer, Request> bucket: this.byTypeStatus.get(type).values()) {
+            requests.addAll(bucket.values());
+        }
+        sortBySubmission(requests);
+        return requests;
+    }
+
+    /**
+     * Sorts a list of requests gathered from several indexes back into order of submission.
+     * @param requests the list of requests to sort
+     */
+    public static void sortBySubmission(ArrayList<Request> requests) {
+        requests.sort(Comparator.comparingInt(Request::getSeq));
+    }
+
+    /**
+     * return the list of all requests in the order they were submitted.
+     * The list is live, so it must only be iterated while no requests are added, such as during startup or a checkpoint
+     * @return ArrayList
+     */
+    public ArrayList<Request> getRequests() {
+        return this.requests;
+    }
+
+    /**
+     * return the request at the given position in order of submission
+     * @param seq the position of the request
+     * @return Request
+     */
+    public synchronized Request get(int seq) {
+        return this.requests.get(seq);
+    }
+
+    /**
+     * return a stream of all requests in the order they were submitted, taken over a copy of the list so it can be
+     * consumed while requests are added
+     * @return Stream
+     */
+    public Stream<Request> stream() {
+        synchronized (this) {
+            return new ArrayList<>(this.requests).stream();
+        }
+    }
+
+    /**
+     * return the number of requests stored
+     * @return int
+     */
+    public synchronized int size() {
+        return this.requests.size();
+    }
+}
@@ -0,0 +1,71 @@
+package entity;
+
+/**
+ * The types of request that can be made in the system, with the text used for each in the data files and on screen.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum RequestType {
+    /**
+     * A student asks to change the title of his/her project
+     */
+    CHANGE_TITLE("changeTitle"),
+    /**
+     * A student asks to be allocated a project
+     */
+    REGISTER("register"),
+    /**
+     * A student asks to be deallocated from his/her project
+     */
+    DE_REGISTER("deRegister"),
+    /**
+     * A supervisor asks to transfer a project to another supervisor
+     */
+    CHANGE_SUPERVISOR("changeSupervisor");
+
+    /**
+     * The text of the request type as written in the data files
+     */
+    private final String text;
+
+    /**
+     * Constructs a request type with its text.
+     * @param text the text of the request type
+     */
+    RequestType(String text) {
+        this.text = text;
+    }
+
+    /**
+     * return the text of the request type as written in the data files
+     * @return String
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Returns the request type with the given text, ignoring case.
+     * @param text the text of the request type
+     * @return the matching RequestType
+     * @throws IllegalArgumentException if no request type has the given text
+     */
+    public static RequestType fromText(String text) {
+        for (RequestType type: values()) {
+            if (type.text.equalsIgnoreCase(text)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown request type: " + text);
+    }
+
+    /**
+     * return the text of the request type
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return this.text;
+    }
+}
@@ -0,0 +1,41 @@
+package entity;
+
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * The roles a user can hold in the system; a coordinator holds both the supervisor and coordinator roles.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum Role {
+    /**
+     * The user is a student who can register for projects
+     */
+    STUDENT,
+    /**
+     * The user is a supervisor who can create and supervise projects
+     */
+    SUPERVISOR,
+    /**
+     * The user is the coordinator who processes requests
+     */
+    COORDINATOR;
+
+    /**
+     * return the roles held by a user of the given type
+     * @param type the user type, one of "Student", "Supervisor" or "Coordinator"
+     * @return EnumSet
+     */
+    public static EnumSet<Role> forType(String type) {
+        if (Objects.equals(type, "Student")) {
+            return EnumSet.of(STUDENT);
+        } else if (Objects.equals(type, "Supervisor")) {
+            return EnumSet.of(SUPERVISOR);
+        } else if (Objects.equals(type, "Coordinator")) {
+            return EnumSet.of(SUPERVISOR, COORDINATOR);
+        }
+        return EnumSet.noneOf(Role.class);
+    }
+}
@@ -24,7 +24,7 @@ public class Student extends User{
     /**
      * Holds the project ID of the project that the student is registered for.
      */
-    private int registeredProject;
+    private volatile int registeredProject;
 
     /**
     * Constructs a new Student object with the given name, id, email address, password, user type and project ID.
@@ -72,12 +72,22 @@ public class Student extends User{
         return this.registeredProject != -2;
     }
 
+    /**
+     * return a copy of the fields of the student that are saved to the data files, including the registered project
+     * @return User
+     */
+    @Override
+    User copy() {
+        return new Student(this.getName(), this.getId(), this.getEmail(), this.getPassword(), this.getType(), this.registeredProject);
+    }
+
     /**
      * Sets the project ID of the project that the student is registered for.
      * @param projectId the project ID of the registered project
      */
     public void setRegisteredProject(int projectId){
         this.registeredProject = projectId;
+        this.changed();
     }
 
 
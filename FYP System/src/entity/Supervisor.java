@@ -14,6 +14,16 @@ public class Supervisor extends User {
      */
     public ArrayList<Integer> supervisedProjects;
 
+    /**
+     * The number of allocated projects a supervisor may supervise unless configured otherwise.
+     */
+    public static final int DEFAULT_PROJECT_CAP = 2;
+
+    /**
+     * The maximum number of allocated projects this supervisor may supervise.
+     */
+    private volatile int projectCap;
+
     /**
      * Constructs a Supervisor object with the given name, ID, email, password, and type.
      * Initializes the supervisedProjects list as an empty ArrayList.
@@ -26,6 +36,7 @@ public class Supervisor extends User {
     public Supervisor(String name, String id, String email, String password, String type) {
         super(name, id, email, password, type);
         this.supervisedProjects = new ArrayList<Integer>();
+        this.projectCap = DEFAULT_PROJECT_CAP;
     }
 
     /**
@@ -37,4 +48,32 @@ public class Supervisor extends User {
         return supervisedProjects;
     }
 
+    /**
+     * return the maximum number of allocated projects this supervisor may supervise
+     * @return int
+     */
+    public int getProjectCap() {
+        return this.projectCap;
+    }
+
+    /**
+     * Sets the maximum number of allocated projects this supervisor may supervise.
+     * @param projectCap the new project cap
+     */
+    public void setProjectCap(int projectCap) {
+        this.projectCap = projectCap;
+        this.changed();
+    }
+
+    /**
+     * return a copy of the fields of the supervisor that are saved to the data files, including the project cap
+     * @return User
+     */
+    @Override
+    User copy() {
+        Supervisor copy = new Supervisor(this.getName(), this.getId(), this.getEmail(), this.getPassword(), this.getType());
+        copy.projectCap = this.projectCap;
+        return copy;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package entity;
+
+/**
+ * The results of a change that other sessions may be making at the same time.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum UpdateResult {
+    /**
+     * The change was applied
+     */
+    APPLIED,
+    /**
+     * The change was applied and the supervisor of the project has now reached the project cap
+     */
+    CAP_REACHED,
+    /**
+     * The request was rejected, so nothing else was changed
+     */
+    REJECTED,
+    /**
+     * The change was not applied because another session changed the project, student or request first
+     */
+    CONFLICT;
+
+    /**
+     * return whether the change was applied
+     * @return boolean
+     */
+    public boolean isApplied() {
+        return this == APPLIED || this == CAP_REACHED;
+    }
+}
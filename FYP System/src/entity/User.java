@@ -1,4 +1,8 @@
 package entity;
+import utils.SymbolTable;
+
+import java.util.EnumSet;
+
 /**
  * A class representing a user in the system.
  * A user is identified by their name, id, email, password, and user type.
@@ -14,10 +18,21 @@ public class User {
      * name - Name of the user
      * id - User ID
      * email - email address
-     * password - password used to login
      * type - (Student, Supervisor, or Coordinator)
      */
-    private String name, id, email, password, type;
+    private String name, id, email, type;
+    /**
+     * password - password used to login, which may be reset by one session while another reads it
+     */
+    private volatile String password;
+    /**
+     * The roles the user holds, given by the user type
+     */
+    private EnumSet<Role> roles;
+    /**
+     * The journal that records changes to the user's password and registered project, or null if changes are not journaled
+     */
+    private ChangeJournal journal;
 
     /**
      * Constructs a new User object with the specified name, id, email, password, and user type.
@@ -29,10 +44,11 @@ public class User {
      */
     public User(String name,String id,String email,String password, String type) {
         this.name = name;
-        this.id = id;
+        this.id = SymbolTable.canonical(id);
         this.email = email;
         this.password = password;
-        this.type = type;
+        this.type = SymbolTable.canonical(type);
+        this.roles = Role.forType(type);
     }
     /**
      * Constructs a new empty User object.
@@ -84,7 +100,7 @@ public class User {
      * @param id the new id to set
      */
     public void setId(String id) {
-        this.id = id;
+        this.id = SymbolTable.canonical(id);
     }
 
     /**
@@ -109,5 +125,36 @@ public class User {
      */
     public void setPassword(String password) {
         this.password = password;
+        this.changed();
+    }
+    /**
+     * return whether the user holds the given role
+     * @param role the role to check
+     * @return boolean
+     */
+    public boolean hasRole(Role role) {
+        return this.roles != null && this.roles.contains(role);
+    }
+    /**
+     * return a copy of the fields of the user that are saved to the data files, used to save the user while it keeps changing
+     * @return User
+     */
+    User copy() {
+        return new User(this.name, this.id, this.email, this.password, this.type);
+    }
+    /**
+     * Sets the journal that records changes to the user.
+     * @param journal the ChangeJournal to record changes in
+     */
+    void setJournal(ChangeJournal journal) {
+        this.journal = journal;
+    }
+    /**
+     * Records the new state of the user in the journal, if there is one.
+     */
+    void changed() {
+        if (this.journal != null) {
+            this.journal.userChanged(this);
+        }
     }
 }
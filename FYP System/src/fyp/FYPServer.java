@@ -0,0 +1,186 @@
+package fyp;
+
+import entity.CentralManager;
+import utils.Input;
+import utils.Session;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The FYPServer class serves many sessions at once, each over its own TCP connection to a local port.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FYPServer {
+    /**
+     * The port the server listens on when none is given
+     */
+    public static final int DEFAULT_PORT = 5050;
+    /**
+     * The central manager shared by all sessions
+     */
+    private final CentralManager centralManager;
+    /**
+     * The port to listen on
+     */
+    private final int port;
+    /**
+     * The number of sessions started so far, used to name them
+     */
+    private final AtomicInteger sessions;
+    /**
+     * The connections of the sessions being served
+     */
+    private final Set<Socket> connections;
+    /**
+     * The socket listening for connections, or null before the server runs
+     */
+    private volatile ServerSocket server;
+    /**
+     * Whether stop() has been called
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Constructs a FYPServer serving the given central manager on the given port.
+     * @param centralManager the central manager shared by all sessions
+     * @param port the port to listen on
+     */
+    public FYPServer(CentralManager centralManager, int port) {
+        this.centralManager = centralManager;
+        this.port = port;
+        this.sessions = new AtomicInteger();
+        this.connections = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Listens on the loopback address and starts a session for every connection, until stop() is called, the program is
+     * shut down or the server socket fails. The sessions still running are then disconnected and waited for.
+     */
+    public void run() {
+        ExecutorService executor = newSessionExecutor();
+        Thread shutdownHook = new Thread(this::stop);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        try (ServerSocket server = new ServerSocket(this.port, 50, InetAddress.getLoopbackAddress())) {
+            this.server = server;
+            if (this.stopped) {
+                return;
+            }
+            System.out.println("Listening for sessions on port " + server.getLocalPort());
+            while (true) {
+                Socket socket = server.accept();
+                executor.execute(() -> this.serve(socket));
+            }
+        } catch (IOException e) {
+            if (!this.stopped) {
+                System.out.println("The server failed.");
+                e.printStackTrace();
+            }
+        } finally {
+            this.stopped = true;
+            this.disconnectAll();
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.out.println("The server stopped.");
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the program is already shutting down
+            }
+        }
+    }
+
+    /**
+     * Stops the server: no more connections are accepted and the sessions being served are disconnected.
+     * run() returns once they have ended.
+     */
+    public void stop() {
+        this.stopped = true;
+        ServerSocket server = this.server;
+        if (server != null) {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // the socket is closed either way
+            }
+        }
+        this.disconnectAll();
+    }
+
+    /**
+     * Closes the connection of every session being served, which ends the session at its next read.
+     */
+    private void disconnectAll() {
+        for (Socket socket: this.connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // the socket is closed either way
+            }
+        }
+    }
+
+    /**
+     * Serves one connection: shows the login screen until the person chooses to exit or disconnects, then closes the connection.
+     * @param socket the connection of the session
+     */
+    private void serve(Socket socket) {
+        int id = this.sessions.incrementAndGet();
+        this.connections.add(socket);
+        try (socket) {
+            if (this.stopped) {
+                return;
+            }
+            Scanner scanner = new Scanner(socket.getInputStream(), StandardCharsets.UTF_8);
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            new Session(new Input(scanner), out).begin();
+            boolean running = true;
+            while (running) {
+                running = this.centralManager.getUserBoundary().login();
+            }
+        } catch (NoSuchElementException | IllegalStateException e) {
+            // the person disconnected while the system was waiting for input
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Session " + id + " failed: " + e);
+        } finally {
+            this.connections.remove(socket);
+            Session.end();
+        }
+    }
+
+    /**
+     * return an executor that runs every task on a new virtual thread if the Java runtime has virtual threads,
+     * or otherwise on a cached pool of daemon platform threads
+     * @return ExecutorService
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "session-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -26,11 +26,21 @@ public class FYPSystem {
 
     /**
      * Runs the system by continuously calling the login() method of the UserBoundary class through the CentralManager instance variable.
-     * This allows the user to login and use the system.
+     * This allows the user to login and use the system, until the user chooses to exit.
      */
     public void run() {
-        while (true) {
-            this.centralManager.getUserBoundary().login();
+        boolean running = true;
+        while (running) {
+            running = this.centralManager.getUserBoundary().login();
         }
+        System.exit(0);
+    }
+
+    /**
+     * Runs the system as a server that lets many people use it at the same time over TCP connections to the given port.
+     * @param port the port to listen on
+     */
+    public void serve(int port) {
+        new FYPServer(this.centralManager, port).run();
     }
 }
@@ -1,7 +1,10 @@
 package fyp;
+
+import utils.IO.Snapshot;
 /**
  This is the main class which starts the entire FYP system. This includes initialising all the data, boundaries and controllers.
  To run the system, it creates an instance of the FYPSystem class and call its run() method.
+ With --export-text it writes the binary snapshot back to the text files, and with --server [port] it serves sessions over TCP.
  @author Esther Teo Gek Wat
  @version 1.0
  @since 2023-04-15
@@ -12,8 +15,31 @@ public class Main {
      * @param args contains the supplied command-line arguments as an array of strings
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--export-text")) {
+            exportText();
+            return;
+        }
         FYPSystem fypSystem = new FYPSystem();
+        if (args.length > 0 && args[0].equals("--server")) {
+            fypSystem.serve(args.length > 1 ? Integer.parseInt(args[1]) : FYPServer.DEFAULT_PORT);
+            return;
+        }
         fypSystem.run();
     }
 
+    /**
+     * Writes the users, projects and requests of the binary snapshot in the data folder back to the text files.
+     */
+    private static void exportText() {
+        String dataFolder = System.getProperty("user.dir") + "/data/";
+        Snapshot snapshot = Snapshot.read(dataFolder + "snapshot.bin", null);
+        if (snapshot == null) {
+            System.out.println("No snapshot to export.");
+            return;
+        }
+        if (snapshot.exportText(dataFolder + "Users.txt", dataFolder + "Projects.txt", dataFolder + "Requests.txt")) {
+            System.out.println("Exported the snapshot to the text files.");
+        }
+    }
+
 }
@@ -0,0 +1,383 @@
+package utils.IO;
+
+import utils.SymbolTable;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * The FieldTokenizer class reads underscore separated data files one line at a time and hands out the fields of the current line
+ * without splitting the line into an array.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FieldTokenizer implements Closeable {
+    /**
+     * The initial size of the buffer used when reading from a stream
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The separator between fields of a line
+     */
+    private static final byte SEPARATOR = '_';
+    /**
+     * The number of slots of the symbol cache, a power of two
+     */
+    private static final int SYMBOL_CACHE_SIZE = 1024;
+    /**
+     * The stream the lines are read from, or null when walking a fixed buffer
+     */
+    private final InputStream in;
+    /**
+     * The buffer holding the bytes read so far, indexed from 0
+     */
+    private ByteBuffer buf;
+    /**
+     * The array fields are copied into for decoding when the buffer is not backed by an array
+     */
+    private byte[] scratch;
+    /**
+     * The start of the current line
+     */
+    private int lineStart;
+    /**
+     * The position of the next unread byte of the current line
+     */
+    private int pos;
+    /**
+     * The end of the current line, excluding the line terminator
+     */
+    private int lineEnd;
+    /**
+     * The position where the search for the next line starts
+     */
+    private int next;
+    /**
+     * The end of the valid bytes in the buffer
+     */
+    private int limit;
+    /**
+     * Whether the stream has no more bytes to read
+     */
+    private boolean eof;
+    /**
+     * The number of non-blank lines read so far
+     */
+    private long lineCount;
+    /**
+     * The recently read symbols, each in the slot given by the hash of its bytes
+     */
+    private final String[] symbols = new String[SYMBOL_CACHE_SIZE];
+
+    /**
+     * Constructs a FieldTokenizer that reads lines from a stream.
+     * @param in the stream to read from
+     */
+    public FieldTokenizer(InputStream in) {
+        this.in = in;
+        this.buf = ByteBuffer.wrap(new byte[BUFFER_SIZE]);
+        this.limit = 0;
+        this.eof = false;
+    }
+
+    /**
+     * Constructs a FieldTokenizer that walks the lines of a buffer in place, from index 0 up to its limit.
+     * @param buf the buffer holding the lines
+     */
+    public FieldTokenizer(ByteBuffer buf) {
+        this.in = null;
+        this.buf = buf;
+        this.next = 0;
+        this.limit = buf.limit();
+        this.eof = true;
+    }
+
+    /**
+     * Opens a FieldTokenizer over a file.
+     * @param fpath the path of the file to read
+     * @return the tokenizer
+     * @throws IOException if the file cannot be opened
+     */
+    public static FieldTokenizer open(String fpath) throws IOException {
+        return new FieldTokenizer(new FileInputStream(fpath));
+    }
+
+    /**
+     * Moves to the next non-blank line.
+     * @return true if there is a line to read, false at the end of the input
+     * @throws IOException if the stream cannot be read
+     */
+    public boolean nextLine() throws IOException {
+        while (true) {
+            int newline = this.indexOfNewline(this.next);
+            while (newline < 0 && !this.eof) {
+                this.fill();
+                newline = this.indexOfNewline(this.next);
+            }
+            int start = this.next;
+            int end;
+            if (newline >= 0) {
+                end = newline;
+                this.next = newline + 1;
+            } else if (start < this.limit) {
+                end = this.limit;
+                this.next = this.limit;
+            } else {
+                return false;
+            }
+            if (end > start && this.buf.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end > start) {
+                this.lineStart = start;
+                this.pos = start;
+                this.lineEnd = end;
+                this.lineCount++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * return the position of the first newline at or after the given position, or -1 if the buffer has none
+     * @param from the position to start searching at
+     * @return int
+     */
+    private int indexOfNewline(int from) {
+        for (int i = from; i < this.limit; i++) {
+            if (this.buf.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer, growing it when it is full, and reads more bytes from the stream.
+     * @throws IOException if the stream cannot be read
+     */
+    private void fill() throws IOException {
+        byte[] array = this.buf.array();
+        int remaining = this.limit - this.next;
+        if (this.next > 0) {
+            System.arraycopy(array, this.next, array, 0, remaining);
+        } else if (remaining == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+            this.buf = ByteBuffer.wrap(array);
+        }
+        this.next = 0;
+        this.limit = remaining;
+        int read = this.in.read(array, this.limit, array.length - this.limit);
+        if (read < 0) {
+            this.eof = true;
+        } else {
+            this.limit += read;
+        }
+    }
+
+    /**
+     * return the whole current line, decoded as UTF-8, to report a line that cannot be parsed
+     * @return String
+     */
+    public String getLine() {
+        return this.decode(this.lineStart, this.lineEnd);
+    }
+
+    /**
+     * return whether the current line has another field, including an empty one after a trailing separator
+     * @return boolean
+     */
+    public boolean hasMoreFields() {
+        return this.pos <= this.lineEnd;
+    }
+
+    /**
+     * return the end of the field starting at the cursor
+     * @return int
+     */
+    private int fieldEnd() {
+        int end = this.pos;
+        while (end < this.lineEnd && this.buf.get(end) != SEPARATOR) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Reads the next field of the current line as text.
+     * @return the field, decoded as UTF-8
+     */
+    public String nextField() {
+        int end = this.fieldEnd();
+        String field = this.decode(this.pos, end);
+        this.pos = end + 1;
+        return field;
+    }
+
+    /**
+     * Reads the next field of the current line as a symbol, a value that repeats across lines such as an ID.
+     * If the field matches the symbol cached for its bytes, the cached copy is returned without decoding the field,
+     * otherwise the field is decoded, replaced by its canonical copy from the SymbolTable and cached.
+     * @return the canonical copy of the field
+     */
+    public String nextSymbol() {
+        int end = this.fieldEnd();
+        int hash = 0;
+        for (int i = this.pos; i < end; i++) {
+            hash = 31 * hash + this.buf.get(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SYMBOL_CACHE_SIZE - 1);
+        String symbol = this.symbols[slot];
+        if (symbol != null && this.matches(symbol, this.pos, end)) {
+            SymbolTable.reused(symbol);
+        } else {
+            symbol = SymbolTable.canonical(this.decode(this.pos, end));
+            this.symbols[slot] = symbol;
+        }
+        this.pos = end + 1;
+        return symbol;
+    }
+
+    /**
+     * return whether a string holds exactly the ASCII characters between two positions of the buffer
+     * @param symbol the string to compare
+     * @param from the position of the first byte
+     * @param to the position after the last byte
+     * @return boolean
+     */
+    private boolean matches(String symbol, int from, int to) {
+        if (symbol.length() != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            byte b = this.buf.get(i);
+            if (b < 0 || symbol.charAt(i - from) != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * return the UTF-8 text between two positions of the buffer
+     * @param from the position of the first byte
+     * @param to the position after the last byte
+     * @return String
+     */
+    private String decode(int from, int to) {
+        if (this.buf.hasArray()) {
+            return new String(this.buf.array(), this.buf.arrayOffset() + from, to - from, StandardCharsets.UTF_8);
+        }
+        if (this.scratch == null || this.scratch.length < to - from) {
+            this.scratch = new byte[Math.max(to - from, 64)];
+        }
+        this.buf.get(from, this.scratch, 0, to - from);
+        return new String(this.scratch, 0, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Skips the next field of the current line.
+     */
+    public void skipField() {
+        this.pos = this.fieldEnd() + 1;
+    }
+
+    /**
+     * Reads the next field of the current line as an integer.
+     * @return the integer value of the field
+     * @throws NumberFormatException if the field is not an integer
+     */
+    public int nextInt() {
+        int end = this.fieldEnd();
+        int value = this.parseInt(this.pos, end);
+        this.pos = end + 1;
+        return value;
+    }
+
+    /**
+     * Reads the next field of the current line as a date in the format yyyy-mm-dd.
+     * @return the date of the field
+     * @throws NumberFormatException if the field is not a date in that format
+     */
+    public LocalDate nextDate() {
+        int end = this.fieldEnd();
+        int firstDash = this.indexOf((byte) '-', this.pos + 1, end);
+        int secondDash = this.indexOf((byte) '-', firstDash + 1, end);
+        if (firstDash < 0 || secondDash < 0) {
+            throw new NumberFormatException("Invalid date: " + this.decode(this.pos, end));
+        }
+        LocalDate date = LocalDate.of(this.parseInt(this.pos, firstDash), this.parseInt(firstDash + 1, secondDash), this.parseInt(secondDash + 1, end));
+        this.pos = end + 1;
+        return date;
+    }
+
+    /**
+     * return the position of a byte between two positions, or -1 if it does not occur
+     * @param b the byte to look for
+     * @param from the position to start at
+     * @param to the position to stop before
+     * @return int
+     */
+    private int indexOf(byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (this.buf.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the decimal integer between two positions of the buffer.
+     * @param from the position of the first character
+     * @param to the position after the last character
+     * @return the integer value
+     * @throws NumberFormatException if the characters are not an integer
+     */
+    private int parseInt(int from, int to) {
+        boolean negative = from < to && this.buf.get(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i >= to) {
+            throw new NumberFormatException("Invalid integer: " + this.decode(from, to));
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = this.buf.get(i) - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Invalid integer: " + this.decode(from, to));
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Invalid integer: " + this.decode(from, to));
+        }
+        return (int) value;
+    }
+
+    /**
+     * return the number of non-blank lines read so far
+     * @return long
+     */
+    public long getLineCount() {
+        return this.lineCount;
+    }
+
+    /**
+     * Closes the stream the lines are read from, if any.
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.in != null) {
+            this.in.close();
+        }
+    }
+}
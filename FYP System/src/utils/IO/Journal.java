@@ -0,0 +1,272 @@
+package utils.IO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * The Journal class is an append-only file of checksummed records, synced to disk in batches for all the threads appending to it.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Journal implements Closeable {
+    /**
+     * The size in bytes of the header in front of each record
+     */
+    private static final int HEADER_SIZE = 8;
+    /**
+     * The size in bytes of the part of a journal file that is memory-mapped at once while it is read back
+     */
+    private static final long WINDOW_SIZE = 64L << 20;
+    /**
+     * The channel of the journal file
+     */
+    private final FileChannel channel;
+    /**
+     * The path of the file holding the records rolled over at the last checkpoint that has not finished yet
+     */
+    private final Path rolledPath;
+    /**
+     * The records appended but not yet written to the file
+     */
+    private final ByteArrayOutputStream pending;
+    /**
+     * The lock held while a batch of records is written and forced to disk
+     */
+    private final Object syncLock;
+    /**
+     * The number of records appended so far, used as the ticket of the last appended record
+     */
+    private long appended;
+    /**
+     * The ticket of the last record known to be on disk
+     */
+    private long durable;
+
+    /**
+     * Opens the journal at the given file path, creating the file if it does not exist.
+     * New records are appended after the records already in the file.
+     * @param fpath the file path of the journal
+     * @throws IOException if the file cannot be opened
+     */
+    public Journal(String fpath) throws IOException {
+        this.channel = FileChannel.open(Path.of(fpath), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(this.channel.size());
+        this.rolledPath = Path.of(fpath + ".1");
+        this.pending = new ByteArrayOutputStream();
+        this.syncLock = new Object();
+        this.appended = 0;
+        this.durable = 0;
+    }
+
+    /**
+     * Adds a record to the pending batch without writing it to disk.
+     * @param payload the content of the record
+     * @return the ticket of the record, to be passed to sync
+     */
+    public synchronized long append(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(payload.length);
+        header.putInt((int) crc.getValue());
+        this.pending.write(header.array(), 0, HEADER_SIZE);
+        this.pending.write(payload, 0, payload.length);
+        return ++this.appended;
+    }
+
+    /**
+     * Makes sure the record with the given ticket is on disk.
+     * If another thread already wrote it as part of its batch, this returns at once; otherwise every pending record is written and forced together.
+     * @param ticket the ticket returned by append
+     * @throws IOException if the journal cannot be written
+     */
+    public void sync(long ticket) throws IOException {
+        synchronized (this.syncLock) {
+            if (this.durable >= ticket) {
+                return;
+            }
+            byte[] batch;
+            long upTo;
+            synchronized (this) {
+                batch = this.pending.toByteArray();
+                this.pending.reset();
+                upTo = this.appended;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.channel.force(false);
+            this.durable = upTo;
+        }
+    }
+
+    /**
+     * Appends a record and waits until it is on disk.
+     * @param payload the content of the record
+     * @throws IOException if the journal cannot be written
+     */
+    public void write(byte[] payload) throws IOException {
+        this.sync(this.append(payload));
+    }
+
+    /**
+     * An action that applies a batch of records read back from the journal.
+     */
+    public interface BatchHandler {
+        /**
+         * Applies a batch of records.
+         * @param batch the payloads of the records, in the order they were written
+         * @throws IOException if a record cannot be decoded
+         */
+        void apply(ArrayList<byte[]> batch) throws IOException;
+    }
+
+    /**
+     * Reads every complete record in the journal, in the order they were written, and hands them to the handler in batches.
+     * Records rolled over at a checkpoint that did not finish are read first, followed by the records in the journal file.
+     * Each file is memory-mapped in windows of WINDOW_SIZE bytes and scanned once. Reading a file stops at the first record
+     * that is cut short or fails its checksum, which is what a crash in the middle of a write leaves behind, and the file is
+     * truncated after the last good record so that new records are appended right after it.
+     * @param batchSize the largest number of records in one batch
+     * @param handler the action that applies each batch
+     * @return the number of records read
+     * @throws IOException if a file cannot be read or truncated
+     */
+    public long recover(int batchSize, BatchHandler handler) throws IOException {
+        long count = 0;
+        if (Files.exists(this.rolledPath)) {
+            try (FileChannel rolled = FileChannel.open(this.rolledPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                count += recover(rolled, batchSize, handler);
+            }
+        }
+        count += recover(this.channel, batchSize, handler);
+        this.channel.position(this.channel.size());
+        return count;
+    }
+
+    /**
+     * Reads every complete record in one journal file and hands them to the handler in batches, truncating the file after the last good record.
+     * A record that runs past the end of the mapped window is read from a new window starting at the record.
+     * @param channel the channel of the file
+     * @param batchSize the largest number of records in one batch
+     * @param handler the action that applies each batch
+     * @return the number of records read
+     * @throws IOException if the file cannot be read or truncated
+     */
+    private static long recover(FileChannel channel, int batchSize, BatchHandler handler) throws IOException {
+        long size = channel.size();
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        CRC32 crc = new CRC32();
+        ArrayList<byte[]> batch = new ArrayList<>(batchSize);
+        long count = 0;
+        long position = 0;
+        while (position + HEADER_SIZE <= size) {
+            if (window == null || position + HEADER_SIZE > windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(WINDOW_SIZE, size - windowStart));
+            }
+            int length = window.getInt((int) (position - windowStart));
+            int checksum = window.getInt((int) (position - windowStart) + 4);
+            if (length < 0 || length > Integer.MAX_VALUE - HEADER_SIZE || position + HEADER_SIZE + (long) length > size) {
+                break;
+            }
+            if (position + HEADER_SIZE + length > windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(Math.max(WINDOW_SIZE, HEADER_SIZE + (long) length), size - windowStart));
+            }
+            byte[] payload = new byte[length];
+            window.get((int) (position - windowStart) + HEADER_SIZE, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            batch.add(payload);
+            position += HEADER_SIZE + length;
+            count++;
+            if (batch.size() == batchSize) {
+                handler.apply(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            handler.apply(batch);
+        }
+        if (position < size) {
+            System.out.println("Discarding " + (size - position) + " bytes of incomplete journal records");
+            channel.truncate(position);
+            channel.force(true);
+        }
+        return count;
+    }
+
+    /**
+     * return the size of the journal file in bytes, including records not yet written
+     * @return long
+     * @throws IOException if the size of the file cannot be read
+     */
+    public synchronized long size() throws IOException {
+        return this.channel.size() + this.pending.size();
+    }
+
+    /**
+     * Moves every record written so far into the rolled over file and empties the journal file, at the start of a checkpoint.
+     * The caller must make sure no records are appended while this runs.
+     * If the rolled over file of an earlier checkpoint is still there because that checkpoint failed, the records are added to the end of it.
+     * @throws IOException if the records cannot be moved
+     */
+    public void rollOver() throws IOException {
+        synchronized (this.syncLock) {
+            long last;
+            synchronized (this) {
+                last = this.appended;
+            }
+            this.sync(last);
+            try (FileChannel rolled = FileChannel.open(this.rolledPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long size = this.channel.size();
+                long position = 0;
+                while (position < size) {
+                    position += this.channel.transferTo(position, size - position, rolled);
+                }
+                rolled.force(true);
+            }
+            this.channel.truncate(0);
+            this.channel.position(0);
+            this.channel.force(true);
+        }
+    }
+
+    /**
+     * Deletes the rolled over records once the checkpoint that rolled them over has saved the data files.
+     * @throws IOException if the file cannot be deleted
+     */
+    public void discardRolledOver() throws IOException {
+        Files.deleteIfExists(this.rolledPath);
+    }
+
+    /**
+     * Writes any pending records and closes the journal file.
+     * @throws IOException if the journal cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        long last;
+        synchronized (this) {
+            last = this.appended;
+        }
+        this.sync(last);
+        this.channel.close();
+    }
+}
@@ -0,0 +1,234 @@
+package utils.IO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The LineSpliterator class parses a region of an underscore separated data file lazily, one line at a time, for a Stream.
+ * @param <T> the type of object parsed from the lines
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LineSpliterator<T> implements Spliterator<T> {
+    /**
+     * The smallest region that is split in two
+     */
+    private static final long MIN_SPLIT_SIZE = 1 << 16;
+    /**
+     * The rough number of bytes of a line, used to estimate how many objects are left
+     */
+    private static final long ESTIMATED_LINE_SIZE = 48;
+
+    /**
+     * An action that parses the current line of a tokenizer into objects.
+     * @param <T> the type of object parsed
+     */
+    public interface LineParser<T> {
+        /**
+         * Parses the current line of a tokenizer and passes every object it describes to the consumer.
+         * @param tokenizer the tokenizer positioned on a line
+         * @param sink the consumer of the parsed objects
+         */
+        void parse(FieldTokenizer tokenizer, Consumer<T> sink);
+    }
+
+    /**
+     * The channel of the file being parsed
+     */
+    private final FileChannel channel;
+    /**
+     * The action that parses each line
+     */
+    private final LineParser<T> parser;
+    /**
+     * The offset of the first byte of the region, always at the start of a line
+     */
+    private long start;
+    /**
+     * The offset after the last byte of the region, always at the end of a line or of the file
+     */
+    private final long end;
+    /**
+     * The tokenizer reading the region, or null until parsing starts
+     */
+    private FieldTokenizer tokenizer;
+    /**
+     * The objects parsed from the current line that have not been handed out yet
+     */
+    private final ArrayDeque<T> pending;
+
+    /**
+     * Constructs a LineSpliterator over a region of a file.
+     * @param channel the channel of the file
+     * @param start the offset of the first byte of the region, at the start of a line
+     * @param end the offset after the last byte of the region, at the end of a line or of the file
+     * @param parser the action that parses each line
+     */
+    public LineSpliterator(FileChannel channel, long start, long end, LineParser<T> parser) {
+        this.channel = channel;
+        this.start = start;
+        this.end = end;
+        this.parser = parser;
+        this.pending = new ArrayDeque<>();
+    }
+
+    /**
+     * Parses lines until an object is available and hands it to the action.
+     * @param action the action to perform on the next object
+     * @return true if an object was handed out, false at the end of the region
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (this.tokenizer == null) {
+            this.tokenizer = new FieldTokenizer(new RegionInputStream(this.channel, this.start, this.end));
+        }
+        try {
+            while (this.pending.isEmpty()) {
+                if (!this.tokenizer.nextLine()) {
+                    return false;
+                }
+                this.parser.parse(this.tokenizer, this.pending::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        action.accept(this.pending.poll());
+        return true;
+    }
+
+    /**
+     * Splits off the first half of the region, ending just after the first newline at or after its middle.
+     * Only a spliterator that has not started parsing, and whose region is at least MIN_SPLIT_SIZE bytes, is split.
+     * @return a spliterator over the first half of the region, or null if the region is not split
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (this.tokenizer != null || this.end - this.start < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        try {
+            long boundary = this.lineBoundaryAfter(this.start + (this.end - this.start) / 2);
+            if (boundary < 0 || boundary >= this.end) {
+                return null;
+            }
+            LineSpliterator<T> prefix = new LineSpliterator<>(this.channel, this.start, boundary, this.parser);
+            this.start = boundary;
+            return prefix;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * return the offset just after the first newline at or after the given offset within the region, or -1 if there is none
+     * @param position the offset to start searching at
+     * @return long
+     * @throws IOException if the file cannot be read
+     */
+    private long lineBoundaryAfter(long position) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        while (position < this.end) {
+            probe.clear();
+            probe.limit((int) Math.min(probe.capacity(), this.end - position));
+            int read = this.channel.read(probe, position);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return -1;
+    }
+
+    /**
+     * return an estimate of the number of objects left, from the number of bytes left in the region
+     * @return long
+     */
+    @Override
+    public long estimateSize() {
+        return (this.end - this.start) / ESTIMATED_LINE_SIZE + 1;
+    }
+
+    /**
+     * return the characteristics of the spliterator, which hands out objects in file order and never hands out null
+     * @return int
+     */
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * An InputStream over a region of a file channel that reads with positional reads, so several of them can read the
+     * same channel at once.
+     */
+    private static class RegionInputStream extends InputStream {
+        /**
+         * The channel of the file
+         */
+        private final FileChannel channel;
+        /**
+         * The offset of the next byte to read
+         */
+        private long position;
+        /**
+         * The offset after the last byte of the region
+         */
+        private final long end;
+
+        /**
+         * Constructs a RegionInputStream over a region of a file.
+         * @param channel the channel of the file
+         * @param start the offset of the first byte of the region
+         * @param end the offset after the last byte of the region
+         */
+        RegionInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        /**
+         * Reads one byte of the region.
+         * @return the byte, or -1 at the end of the region
+         * @throws IOException if the file cannot be read
+         */
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return this.read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        /**
+         * Reads bytes of the region into an array.
+         * @param b the array to read into
+         * @param off the position in the array to start at
+         * @param len the largest number of bytes to read
+         * @return the number of bytes read, or -1 at the end of the region
+         * @throws IOException if the file cannot be read
+         */
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.position >= this.end) {
+                return -1;
+            }
+            int wanted = (int) Math.min(len, this.end - this.position);
+            int read = this.channel.read(ByteBuffer.wrap(b, off, wanted), this.position);
+            if (read > 0) {
+                this.position += read;
+            }
+            return read;
+        }
+    }
+}
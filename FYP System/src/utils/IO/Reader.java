@@ -2,12 +2,21 @@ package utils.IO;
 
 import entity.*;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * The Reader class contains methods for ingesting data from files and returning them as ArrayLists.
  * It includes methods for reading user data, project data, and request data from files.
@@ -17,9 +26,13 @@ import java.util.Objects;
  */
 public class Reader {
     /**
-     * Object of class BufferedReader
+     * The smallest chunk of a file parsed by one task when reading a memory-mapped file in parallel
      */
-    BufferedReader reader;
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    /**
+     * The largest chunk of a file parsed by one task, kept well below the largest region that can be memory-mapped at once
+     */
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
     /**
      *  Constructor of reader class
      */
@@ -32,57 +45,69 @@ public class Reader {
      * - password (String)
      * - userType (String) - must be "Student", "Supervisor", or "Coordinator"
      * - projectID (int) - optional, only for students who are assigned to a project
+     * - projectCap (int) - optional, only for supervisors and coordinators whose project cap is not the default
      *
      * @param fpath the file path to read user data from
      * @return an ArrayList of all users
      */
     public static ArrayList<User> readUsers(String fpath) {
         System.out.println("Ingesting users...");
+        long start = System.nanoTime();
         ArrayList<User> users = new ArrayList<>();
         try {
-            BufferedReader reader = new BufferedReader(new FileReader(fpath));
-            String line = reader.readLine();
-
-            while (line != null) {
-                String[] lst = line.split("_");
-                String name = lst[0];
-                String email = lst[1];
-                String password = lst[2];
-                String userType = lst[3];
-                String userID = email.split("@")[0];
-                int projectID = -1;
-                if (lst.length == 5) {
-                    projectID = Integer.parseInt(lst[4]);
-                }
-                if (Objects.equals(userType, "Student")) {
-                    Student student = new Student(name, userID, email, password, "Student", projectID);
-                    users.add(student);
-                }
-                else if (Objects.equals(userType, "Supervisor")){
-                    Supervisor supervisor = new Supervisor(name, userID, email, password, "Supervisor");
-                    users.add(supervisor);
-                }
-                else if (Objects.equals(userType, "Coordinator")){
-                    Coordinator coordinator = new Coordinator(name, userID, email, password, "Coordinator");
-                    users.add(coordinator);
-                    Supervisor supervisor = new Supervisor(name, userID, email, password, "Supervisor");
-                    users.add(supervisor);
-                }
+            FieldTokenizer tokenizer = FieldTokenizer.open(fpath);
 
-                line = reader.readLine();
+            while (tokenizer.nextLine()) {
+                parseLine("user", tokenizer, Reader::parseUser, users::add);
             }
 
-            reader.close();
+            tokenizer.close();
+            reportThroughput("users", tokenizer.getLineCount(), start);
         } catch (IOException e) {
             e.printStackTrace();
         }
         return users;
     }
+
+    /**
+     * Parses the current line of a tokenizer into the users it describes.
+     * A coordinator line describes a single Coordinator object, which also holds the supervisor role.
+     * @param tokenizer the tokenizer positioned on a user line
+     * @param sink the consumer of the parsed users
+     */
+    static void parseUser(FieldTokenizer tokenizer, Consumer<User> sink) {
+        String name = tokenizer.nextField();
+        String email = tokenizer.nextField();
+        String password = tokenizer.nextField();
+        String userType = tokenizer.nextSymbol();
+        int at = email.indexOf('@');
+        String userID = at < 0 ? email : email.substring(0, at);
+        boolean hasNumber = tokenizer.hasMoreFields();
+        int number = hasNumber ? tokenizer.nextInt() : -1;
+        if (Objects.equals(userType, "Student")) {
+            sink.accept(new Student(name, userID, email, password, "Student", number));
+            return;
+        }
+        Supervisor supervisor;
+        if (Objects.equals(userType, "Supervisor")){
+            supervisor = new Supervisor(name, userID, email, password, "Supervisor");
+        }
+        else if (Objects.equals(userType, "Coordinator")){
+            supervisor = new Coordinator(name, userID, email, password, "Coordinator");
+        }
+        else {
+            return;
+        }
+        if (hasNumber) {
+            supervisor.setProjectCap(number);
+        }
+        sink.accept(supervisor);
+    }
     /**
      * Reads request data from a file and returns an ArrayList of Request objects.
      * Each line in the file should contain the following information separated by underscores:
-     * - type (String) - What type of request it is. Must be "changeTitle", "register", "deRegister", or "ChangeSupervisor"
-     * - status (String) - What is the status of the request. Must be "Pending", "Approved", or "Rejected"
+     * - type (String) - What type of request it is. Must be "changeTitle", "register", "deRegister", or "changeSupervisor" (case is ignored)
+     * - status (String) - What is the status of the request. Must be "pending", "approved", or "rejected" (case is ignored)
      * - date (String) - Date of the request made. In the format yyyy-mm-dd
      * - projectID (int) - What project the request is referring to
      * - requesteeID (String) - the ID of the user who made the request
@@ -93,33 +118,159 @@ public class Reader {
      */
     public static ArrayList<Request> readRequests(String fpath) {
         System.out.println("Ingesting requests...");
+        long start = System.nanoTime();
         ArrayList<Request> requests = new ArrayList<>();
         try {
-            BufferedReader reader = new BufferedReader(new FileReader(fpath));
-            String line = reader.readLine();
-
-            while (line != null) {
-                String[] lst = line.split("_");
-                String type = lst[0];
-                String status = lst[1];
-                String date = lst[2];
-                Integer projectID = Integer.valueOf(lst[3]);
-                String requesteeID = lst[4];
-                String value = "";
-                if (lst.length == 6) {
-                    value = lst[5];
-                }
-                Request request = new Request(projectID, type, requesteeID, status, LocalDate.parse(date), value);
-                requests.add(request);
-                line = reader.readLine();
+            FieldTokenizer tokenizer = FieldTokenizer.open(fpath);
+
+            while (tokenizer.nextLine()) {
+                Reader.<Request>parseLine("request", tokenizer, (line, sink) -> sink.accept(parseRequest(line)), requests::add);
             }
 
-            reader.close();
+            tokenizer.close();
+            reportThroughput("requests", tokenizer.getLineCount(), start);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return requests;
+    }
+
+    /**
+     * Reads request data from a file in the same format as readRequests, but memory-maps the file and parses it in parallel.
+     * The file is split into chunks at newline boundaries, each chunk is parsed on the common ForkJoinPool,
+     * and the parsed requests are merged back in the order they appear in the file.
+     *
+     * @param fpath the file path to read request data from
+     * @return an ArrayList of Request objects
+     */
+    public static ArrayList<Request> readRequestsMapped(String fpath) {
+        System.out.println("Ingesting requests...");
+        long start = System.nanoTime();
+        ArrayList<Request> requests = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(Path.of(fpath), StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            ArrayList<ForkJoinTask<ArrayList<Request>>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long chunkStart = bounds[i];
+                long chunkEnd = bounds[i + 1];
+                tasks.add(ForkJoinPool.commonPool().submit(() -> parseRequestChunk(channel, chunkStart, chunkEnd)));
+            }
+            long lines = 0;
+            for (ForkJoinTask<ArrayList<Request>> task: tasks) {
+                ArrayList<Request> chunk = task.join();
+                lines += chunk.size();
+                requests.addAll(chunk);
+            }
+            reportThroughput("requests", lines, start);
         } catch (IOException e) {
             e.printStackTrace();
         }
         return requests;
     }
+
+    /**
+     * Splits a file into chunks of about the same size, at most MAX_CHUNK_SIZE bytes before the end of their last line,
+     * that each end just after a newline, or at the end of the file.
+     * @param channel the channel of the file
+     * @return the offsets of the chunk boundaries, starting with 0 and ending with the size of the file
+     * @throws IOException if the file cannot be read
+     */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (ForkJoinPool.getCommonPoolParallelism() * 4L) + 1));
+        ArrayList<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            long boundary = -1;
+            while (boundary < 0 && position < size) {
+                probe.clear();
+                int read = channel.read(probe, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        boundary = position + i + 1;
+                        break;
+                    }
+                }
+                position += read;
+            }
+            if (boundary < 0 || boundary >= size) {
+                break;
+            }
+            bounds.add(boundary);
+            position = boundary + chunkSize;
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Memory-maps one chunk of a request file and parses its lines straight from the mapping.
+     * @param channel the channel of the file
+     * @param start the offset of the first byte of the chunk
+     * @param end the offset after the last byte of the chunk
+     * @return the requests parsed from the chunk, in file order
+     * @throws IOException if the chunk cannot be mapped or is too large to be mapped at once
+     */
+    private static ArrayList<Request> parseRequestChunk(FileChannel channel, long start, long end) throws IOException {
+        ArrayList<Request> requests = new ArrayList<>();
+        long length = end - start;
+        if (length == 0) {
+            return requests;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("The line at offset " + start + " is too long to be memory-mapped");
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        FieldTokenizer tokenizer = new FieldTokenizer(mapped);
+        while (tokenizer.nextLine()) {
+            Reader.<Request>parseLine("request", tokenizer, (line, sink) -> sink.accept(parseRequest(line)), requests::add);
+        }
+        return requests;
+    }
+
+    /**
+     * Parses the current line of a tokenizer and passes what it describes to the consumer, or reports the line and skips it
+     * if it holds a type, status or number that cannot be read, so one bad line does not stop the rest of the file from loading.
+     * @param what the kind of data on the line, used in the report
+     * @param tokenizer the tokenizer positioned on a line
+     * @param parser the parser of the line
+     * @param sink the consumer of the parsed objects
+     * @param <T> the type of object parsed
+     */
+    static <T> void parseLine(String what, FieldTokenizer tokenizer, LineSpliterator.LineParser<T> parser, Consumer<T> sink) {
+        try {
+            parser.parse(tokenizer, sink);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Skipping " + what + " line \"" + tokenizer.getLine() + "\": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the current line of a tokenizer into a Request object.
+     * @param tokenizer the tokenizer positioned on a request line
+     * @return the Request object
+     */
+    static Request parseRequest(FieldTokenizer tokenizer) {
+        RequestType type = RequestType.fromText(tokenizer.nextField());
+        RequestStatus status = RequestStatus.fromText(tokenizer.nextField());
+        LocalDate date = tokenizer.nextDate();
+        Integer projectID = tokenizer.nextInt();
+        String requesteeID = tokenizer.nextSymbol();
+        String value = "";
+        if (tokenizer.hasMoreFields()) {
+            value = tokenizer.nextField();
+        }
+        return new Request(projectID, type, requesteeID, status, date, value);
+    }
     /**
      * Reads project data from a file and returns an ArrayList of Project objects.
      * Each line in the file should contain the following information separated by underscores:
@@ -135,30 +286,103 @@ public class Reader {
      */
     public static ArrayList<Project> readProjects(String fpath) {
         System.out.println("Ingesting projects...");
+        long start = System.nanoTime();
         ArrayList<Project> projects = new ArrayList<>();
         try {
-            BufferedReader reader = new BufferedReader(new FileReader(fpath));
-            String line = reader.readLine();
-
-            while (line != null) {
-                String[] lst = line.split("_");
-                int projectID = Integer.parseInt(lst[0]);
-                String supervisorID = lst[1];
-                String studentID = lst[2];
-                String projectTitle = lst[3];
-                int projectStatus = Integer.parseInt(lst[4]);
-                String createdBy = lst[5];
-                Project project = new Project(projectID, supervisorID, studentID, projectTitle, projectStatus, createdBy);
-                projects.add(project);
-
-
-                line = reader.readLine();
+            FieldTokenizer tokenizer = FieldTokenizer.open(fpath);
+
+            while (tokenizer.nextLine()) {
+                Reader.<Project>parseLine("project", tokenizer, (line, sink) -> sink.accept(parseProject(line)), projects::add);
             }
 
-            reader.close();
+            tokenizer.close();
+            reportThroughput("projects", tokenizer.getLineCount(), start);
         } catch (IOException e) {
             e.printStackTrace();
         }
         return projects;
     }
+
+    /**
+     * Parses the current line of a tokenizer into a Project object.
+     * @param tokenizer the tokenizer positioned on a project line
+     * @return the Project object
+     */
+    static Project parseProject(FieldTokenizer tokenizer) {
+        int projectID = tokenizer.nextInt();
+        String supervisorID = tokenizer.nextSymbol();
+        String studentID = tokenizer.nextSymbol();
+        String projectTitle = tokenizer.nextField();
+        ProjectStatus projectStatus = ProjectStatus.fromCode(tokenizer.nextInt());
+        String createdBy = tokenizer.nextSymbol();
+        return new Project(projectID, supervisorID, studentID, projectTitle, projectStatus, createdBy);
+    }
+
+    /**
+     * Returns a lazy stream of the users in a file, in the same format as readUsers.
+     * The file is parsed as the stream is consumed, and the stream can be made parallel to parse parts of the file on several threads.
+     * The stream holds the file open, so it must be closed after use.
+     * @param fpath the file path to read user data from
+     * @return a Stream of User objects, or an empty stream if the file cannot be opened
+     */
+    public static Stream<User> streamUsers(String fpath) {
+        return stream(fpath, (tokenizer, sink) -> parseLine("user", tokenizer, Reader::parseUser, sink));
+    }
+
+    /**
+     * Returns a lazy stream of the projects in a file, in the same format as readProjects.
+     * The file is parsed as the stream is consumed, and the stream can be made parallel to parse parts of the file on several threads.
+     * The stream holds the file open, so it must be closed after use.
+     * @param fpath the file path to read project data from
+     * @return a Stream of Project objects, or an empty stream if the file cannot be opened
+     */
+    public static Stream<Project> streamProjects(String fpath) {
+        return stream(fpath, (tokenizer, sink) -> parseLine("project", tokenizer, (line, parsed) -> parsed.accept(parseProject(line)), sink));
+    }
+
+    /**
+     * Returns a lazy stream of the requests in a file, in the same format as readRequests.
+     * The file is parsed as the stream is consumed, and the stream can be made parallel to parse parts of the file on several threads.
+     * The stream holds the file open, so it must be closed after use.
+     * @param fpath the file path to read request data from
+     * @return a Stream of Request objects, or an empty stream if the file cannot be opened
+     */
+    public static Stream<Request> streamRequests(String fpath) {
+        return stream(fpath, (tokenizer, sink) -> parseLine("request", tokenizer, (line, parsed) -> parsed.accept(parseRequest(line)), sink));
+    }
+
+    /**
+     * Opens a file and returns a lazy stream of the objects parsed from its lines by a LineSpliterator.
+     * Closing the stream closes the file.
+     * @param fpath the file path to read from
+     * @param parser the action that parses each line
+     * @param <T> the type of object parsed
+     * @return a Stream of the parsed objects, or an empty stream if the file cannot be opened
+     */
+    private static <T> Stream<T> stream(String fpath, LineSpliterator.LineParser<T> parser) {
+        try {
+            FileChannel channel = FileChannel.open(Path.of(fpath), StandardOpenOption.READ);
+            return StreamSupport.stream(new LineSpliterator<>(channel, 0, channel.size(), parser), false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Prints how many lines were ingested from a file, how long it took and the resulting throughput in lines per second.
+     * @param what the kind of data that was ingested
+     * @param lines the number of lines ingested
+     * @param start the value of System.nanoTime() when ingesting started
+     */
+    static void reportThroughput(String what, long lines, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Ingested %d %s in %.1f ms (%.0f lines/sec)%n", lines, what, seconds * 1000, seconds > 0 ? lines / seconds : 0);
+    }
 }
@@ -0,0 +1,306 @@
+package utils.IO;
+
+import entity.Request;
+import entity.RequestStatus;
+import entity.RequestType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The RequestArchive class keeps closed requests that no longer need to be on heap in compressed segment files, one per month.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestArchive {
+    /**
+     * The number at the start of every segment file
+     */
+    private static final int MAGIC = 0x46595041;
+    /**
+     * The version of the segment format, increased whenever the format changes
+     */
+    private static final int VERSION = 1;
+    /**
+     * The name of the file listing the committed segments
+     */
+    private static final String MANIFEST = "manifest";
+    /**
+     * The folder holding the segments and the manifest
+     */
+    private final Path directory;
+    /**
+     * The names of the committed segments, in the order they are read
+     */
+    private final ArrayList<String> segments;
+
+    /**
+     * Constructs a RequestArchive over the given folder and reads its manifest.
+     * @param directory the folder holding the segments and the manifest, created if it does not exist
+     * @throws IOException if the folder cannot be created or the manifest cannot be read
+     */
+    public RequestArchive(String directory) throws IOException {
+        this.directory = Path.of(directory);
+        Files.createDirectories(this.directory);
+        this.segments = new ArrayList<>();
+        Path manifest = this.directory.resolve(MANIFEST);
+        if (Files.exists(manifest)) {
+            for (String line: Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                if (!line.isEmpty()) {
+                    this.segments.add(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the given requests into new segments, one for each month of request date, without committing them.
+     * Every segment is written to a temporary file, forced to disk and renamed, so a segment file is always complete.
+     * @param requests the closed requests to archive
+     * @return the names of the segments written, to be passed to commit() once the requests are removed from the data files
+     * @throws IOException if a segment cannot be written
+     */
+    public ArrayList<String> archive(List<Request> requests) throws IOException {
+        TreeMap<String, ArrayList<Request>> byMonth = new TreeMap<>();
+        for (Request request: requests) {
+            String month = String.format("%04d-%02d", request.getDate().getYear(), request.getDate().getMonthValue());
+            byMonth.computeIfAbsent(month, k -> new ArrayList<>()).add(request);
+        }
+        long run = System.currentTimeMillis();
+        ArrayList<String> names = new ArrayList<>();
+        for (String month: byMonth.keySet()) {
+            String name = "requests-" + month + "-" + run + ".seg";
+            this.writeSegment(this.directory.resolve(name), byMonth.get(month));
+            names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * Writes one segment to a temporary file and renames it into place. If writing fails, the temporary file is deleted.
+     * @param target the path of the segment
+     * @param requests the requests in the segment
+     * @throws IOException if the segment cannot be written
+     */
+    private void writeSegment(Path target, ArrayList<Request> requests) throws IOException {
+        Path temp = Path.of(target + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeInt(requests.size());
+            try (DeflaterOutputStream compressed = new DeflaterOutputStream(file, deflater, 1 << 16);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(compressed, 1 << 16))) {
+                for (Request request: requests) {
+                    out.writeByte(request.getRequestType().ordinal());
+                    out.writeByte(request.getRequestStatus().ordinal());
+                    out.writeInt((int) request.getDate().toEpochDay());
+                    out.writeInt(request.getProjectID());
+                    out.writeUTF(request.getRequesteeID());
+                    out.writeUTF(request.getUpdatedValue());
+                }
+                out.flush();
+                compressed.finish();
+                file.getFD().sync();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            deflater.end();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Writer.forceDirectory(this.directory);
+    }
+
+    /**
+     * Adds the given segments to the manifest, making the requests in them part of the archive.
+     * @param names the names of the segments returned by archive()
+     * @throws IOException if the manifest cannot be written
+     */
+    public void commit(List<String> names) throws IOException {
+        ArrayList<String> committed = new ArrayList<>(this.segments);
+        committed.addAll(names);
+        committed.sort(null);
+        Path manifest = this.directory.resolve(MANIFEST);
+        Path temp = this.directory.resolve(MANIFEST + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            out.write(String.join("\n", committed).concat("\n").getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+        Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Writer.forceDirectory(this.directory);
+        this.segments.clear();
+        this.segments.addAll(committed);
+    }
+
+    /**
+     * Finishes or undoes an archival run that was interrupted before its segments were committed.
+     * A segment that is not in the manifest was written by a run that crashed before committing it. If every request in it
+     * is still in the given live requests, the run crashed before the requests were removed from the data files,
+     * so the segment is deleted. Otherwise the requests were already removed, so the segment is committed.
+     * Leftover temporary files are deleted.
+     * @param liveRequests the requests loaded from the data files
+     * @throws IOException if a segment cannot be read or the manifest cannot be written
+     */
+    public void recover(List<Request> liveRequests) throws IOException {
+        ArrayList<Path> pending = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file: files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.endsWith(".seg") && !this.segments.contains(name)) {
+                    pending.add(file);
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        HashMap<String, Integer> live = new HashMap<>();
+        for (Request request: liveRequests) {
+            live.merge(key(request), 1, Integer::sum);
+        }
+        ArrayList<String> toCommit = new ArrayList<>();
+        for (Path file: pending) {
+            boolean allLive = true;
+            try (Stream<Request> requests = readSegment(file)) {
+                for (Iterator<Request> it = requests.iterator(); it.hasNext() && allLive; ) {
+                    allLive = live.merge(key(it.next()), -1, Integer::sum) >= 0;
+                }
+            }
+            if (allLive) {
+                Files.delete(file);
+            } else {
+                toCommit.add(file.getFileName().toString());
+            }
+        }
+        if (!toCommit.isEmpty()) {
+            this.commit(toCommit);
+        }
+    }
+
+    /**
+     * return a key made of every field of a request, used to match archived requests with live ones
+     * @param request the request
+     * @return String
+     */
+    private static String key(Request request) {
+        return request.getType() + '_' + request.getStatus() + '_' + request.getDate() + '_' + request.getProjectID() + '_' + request.getRequesteeID() + '_' + request.getUpdatedValue();
+    }
+
+    /**
+     * return a stream of every archived request, oldest month first.
+     * Segments are opened one at a time as the stream reaches them, so only the requests being consumed are on heap.
+     * The stream holds an open segment file, so it must be closed after use.
+     * @return Stream
+     */
+    public Stream<Request> stream() {
+        ArrayList<String> names = new ArrayList<>(this.segments);
+        return names.stream().flatMap(name -> {
+            try {
+                return readSegment(this.directory.resolve(name));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read archive segment " + name, e);
+            }
+        });
+    }
+
+    /**
+     * return a stream of the archived requests made by the given user, oldest month first
+     * @param requesteeID the ID of the user who made the requests
+     * @return Stream
+     */
+    public Stream<Request> streamByRequestee(String requesteeID) {
+        return this.stream().filter(request -> request.getRequesteeID().equals(requesteeID));
+    }
+
+    /**
+     * return the number of committed segments
+     * @return int
+     */
+    public int getSegmentCount() {
+        return this.segments.size();
+    }
+
+    /**
+     * Opens a segment and returns a stream that decompresses its requests one by one.
+     * Closing the stream closes the segment file.
+     * @param file the path of the segment
+     * @return Stream
+     * @throws IOException if the segment cannot be opened or has the wrong format
+     */
+    private static Stream<Request> readSegment(Path file) throws IOException {
+        InputStream raw = Files.newInputStream(file);
+        DataInputStream header = new DataInputStream(raw);
+        if (header.readInt() != MAGIC || header.readInt() != VERSION) {
+            raw.close();
+            throw new IOException("Not an archive segment: " + file);
+        }
+        int count = header.readInt();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(raw), 1 << 16));
+        RequestType[] types = RequestType.values();
+        RequestStatus[] statuses = RequestStatus.values();
+        Iterator<Request> iterator = new Iterator<>() {
+            private int read = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.read < count;
+            }
+
+            @Override
+            public Request next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.read++;
+                try {
+                    RequestType type = types[in.readByte()];
+                    RequestStatus status = statuses[in.readByte()];
+                    LocalDate date = LocalDate.ofEpochDay(in.readInt());
+                    int projectID = in.readInt();
+                    return new Request(projectID, type, in.readUTF(), status, date, in.readUTF());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read archive segment " + file, e);
+                }
+            }
+        };
+        Spliterator<Request> spliterator = Spliterators.spliterator(iterator, count, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,334 @@
+package utils.IO;
+
+import entity.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The Snapshot class saves and loads the users, projects and requests of the system as one binary file.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Snapshot {
+    /**
+     * The number at the start of every snapshot file
+     */
+    private static final int MAGIC = 0x46595053;
+    /**
+     * The version of the snapshot format, increased whenever the format changes
+     */
+    public static final int VERSION = 2;
+    /**
+     * The code of a student user
+     */
+    private static final byte STUDENT = 0;
+    /**
+     * The code of a supervisor user
+     */
+    private static final byte SUPERVISOR = 1;
+    /**
+     * The code of a coordinator user
+     */
+    private static final byte COORDINATOR = 2;
+    /**
+     * The list of users in the snapshot
+     */
+    private final ArrayList<User> users;
+    /**
+     * The list of projects in the snapshot
+     */
+    private final ArrayList<Project> projects;
+    /**
+     * The list of requests in the snapshot
+     */
+    private final ArrayList<Request> requests;
+
+    /**
+     * Constructs a Snapshot of the given users, projects and requests.
+     * @param users the list of users
+     * @param projects the list of projects
+     * @param requests the list of requests
+     */
+    public Snapshot(ArrayList<User> users, ArrayList<Project> projects, ArrayList<Request> requests) {
+        this.users = users;
+        this.projects = projects;
+        this.requests = requests;
+    }
+
+    /**
+     * return the list of users in the snapshot
+     * @return ArrayList
+     */
+    public ArrayList<User> getUsers() {
+        return this.users;
+    }
+
+    /**
+     * return the list of projects in the snapshot
+     * @return ArrayList
+     */
+    public ArrayList<Project> getProjects() {
+        return this.projects;
+    }
+
+    /**
+     * return the list of requests in the snapshot
+     * @return ArrayList
+     */
+    public ArrayList<Request> getRequests() {
+        return this.requests;
+    }
+
+    /**
+     * return the size and modification time of each of the given text files, or -1 for a file that does not exist
+     * @param textPaths the file paths of the text files
+     * @return long[]
+     * @throws IOException if the attributes of a file cannot be read
+     */
+    public static long[] fingerprint(String... textPaths) throws IOException {
+        long[] fingerprint = new long[textPaths.length * 2];
+        for (int i = 0; i < textPaths.length; i++) {
+            Path path = Path.of(textPaths[i]);
+            boolean exists = Files.exists(path);
+            fingerprint[i * 2] = exists ? Files.size(path) : -1;
+            fingerprint[i * 2 + 1] = exists ? Files.getLastModifiedTime(path).toMillis() : -1;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Saves the snapshot to a temporary file next to the given path and atomically renames it over the old snapshot.
+     * @param fpath the file path of the snapshot
+     * @param fingerprint the fingerprint of the text files holding the same data, from fingerprint()
+     * @return true if the snapshot was saved, false if an error occurred
+     */
+    public boolean write(String fpath, long[] fingerprint) {
+        Path target = Path.of(fpath);
+        Path temp = Path.of(fpath + ".tmp");
+        HashMap<String, Integer> index = new HashMap<>();
+        ArrayList<String> strings = new ArrayList<>();
+        for (User user: this.users) {
+            intern(user.getName(), index, strings);
+            intern(user.getEmail(), index, strings);
+            intern(user.getPassword(), index, strings);
+            intern(user.getId(), index, strings);
+        }
+        for (Project project: this.projects) {
+            intern(project.getSupervisorID(), index, strings);
+            intern(project.getStudentID(), index, strings);
+            intern(project.getProjectTitle(), index, strings);
+            intern(project.getCreatedBy(), index, strings);
+        }
+        for (Request request: this.requests) {
+            intern(request.getRequesteeID(), index, strings);
+            intern(request.getUpdatedValue(), index, strings);
+        }
+        try {
+            FileOutputStream file = new FileOutputStream(temp.toFile());
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(fingerprint.length);
+            for (long value: fingerprint) {
+                out.writeLong(value);
+            }
+            out.writeInt(strings.size());
+            for (String string: strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(this.users.size());
+            for (User user: this.users) {
+                if (Objects.equals(user.getType(), "Student")) {
+                    out.writeByte(STUDENT);
+                } else if (Objects.equals(user.getType(), "Coordinator")) {
+                    out.writeByte(COORDINATOR);
+                } else {
+                    out.writeByte(SUPERVISOR);
+                }
+                out.writeInt(index.get(user.getName()));
+                out.writeInt(index.get(user.getId()));
+                out.writeInt(index.get(user.getEmail()));
+                out.writeInt(index.get(user.getPassword()));
+                if (Objects.equals(user.getType(), "Student")) {
+                    out.writeInt(((Student) user).getRegisteredProject());
+                } else {
+                    out.writeInt(user instanceof Supervisor ? ((Supervisor) user).getProjectCap() : Supervisor.DEFAULT_PROJECT_CAP);
+                }
+            }
+            out.writeInt(this.projects.size());
+            for (Project project: this.projects) {
+                out.writeInt(project.getProjectID());
+                out.writeInt(index.get(project.getSupervisorID()));
+                out.writeInt(index.get(project.getStudentID()));
+                out.writeInt(index.get(project.getProjectTitle()));
+                out.writeByte(project.getProjectStatus());
+                out.writeInt(index.get(project.getCreatedBy()));
+            }
+            out.writeInt(this.requests.size());
+            for (Request request: this.requests) {
+                out.writeByte(request.getRequestType().ordinal());
+                out.writeByte(request.getRequestStatus().ordinal());
+                out.writeInt((int) request.getDate().toEpochDay());
+                out.writeInt(request.getProjectID());
+                out.writeInt(index.get(request.getRequesteeID()));
+                out.writeInt(index.get(request.getUpdatedValue()));
+            }
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            file.getFD().sync();
+            out.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.out.println("An error occurred.");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Adds a string to the string table if it is not in it yet.
+     * @param string the string to add
+     * @param index the position of each string in the table
+     * @param strings the string table
+     */
+    private static void intern(String string, HashMap<String, Integer> index, ArrayList<String> strings) {
+        if (!index.containsKey(string)) {
+            index.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+
+    /**
+     * Loads the snapshot at the given file path with one bulk read.
+     * The snapshot is only used if it has the current format version, its checksum matches,
+     * and it was saved with text files of the given fingerprint.
+     * @param fpath the file path of the snapshot
+     * @param fingerprint the fingerprint of the text files as they are now, from fingerprint(), or null to accept a snapshot saved with any text files
+     * @return the Snapshot, or null if there is no usable snapshot and the text files must be read instead
+     */
+    public static Snapshot read(String fpath, long[] fingerprint) {
+        Path path = Path.of(fpath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 12 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    return null;
+                }
+            }
+            buffer.flip();
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, (int) size - 4);
+            if (buffer.getInt((int) size - 4) != (int) crc.getValue()) {
+                System.out.println("Ignoring snapshot with a bad checksum");
+                return null;
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            int fingerprintLength = buffer.getInt();
+            if (fingerprint != null && fingerprintLength != fingerprint.length) {
+                return null;
+            }
+            for (int i = 0; i < fingerprintLength; i++) {
+                long value = buffer.getLong();
+                if (fingerprint != null && value != fingerprint[i]) {
+                    return null;
+                }
+            }
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                int length = buffer.getInt();
+                strings[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            }
+            int userCount = buffer.getInt();
+            ArrayList<User> users = new ArrayList<>(userCount);
+            for (int i = 0; i < userCount; i++) {
+                byte kind = buffer.get();
+                String name = strings[buffer.getInt()];
+                String userID = strings[buffer.getInt()];
+                String email = strings[buffer.getInt()];
+                String password = strings[buffer.getInt()];
+                if (kind == STUDENT) {
+                    users.add(new Student(name, userID, email, password, "Student", buffer.getInt()));
+                } else {
+                    Supervisor supervisor = kind == COORDINATOR ? new Coordinator(name, userID, email, password, "Coordinator")
+                            : new Supervisor(name, userID, email, password, "Supervisor");
+                    supervisor.setProjectCap(buffer.getInt());
+                    users.add(supervisor);
+                }
+            }
+            int projectCount = buffer.getInt();
+            ArrayList<Project> projects = new ArrayList<>(projectCount);
+            for (int i = 0; i < projectCount; i++) {
+                int projectID = buffer.getInt();
+                String supervisorID = strings[buffer.getInt()];
+                String studentID = strings[buffer.getInt()];
+                String projectTitle = strings[buffer.getInt()];
+                ProjectStatus projectStatus = ProjectStatus.fromCode(buffer.get());
+                String createdBy = strings[buffer.getInt()];
+                projects.add(new Project(projectID, supervisorID, studentID, projectTitle, projectStatus, createdBy));
+            }
+            int requestCount = buffer.getInt();
+            ArrayList<Request> requests = new ArrayList<>(requestCount);
+            RequestType[] types = RequestType.values();
+            RequestStatus[] statuses = RequestStatus.values();
+            for (int i = 0; i < requestCount; i++) {
+                RequestType type = types[buffer.get()];
+                RequestStatus status = statuses[buffer.get()];
+                LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+                int projectID = buffer.getInt();
+                String requesteeID = strings[buffer.getInt()];
+                String updatedValue = strings[buffer.getInt()];
+                requests.add(new Request(projectID, type, requesteeID, status, date, updatedValue));
+            }
+            return new Snapshot(users, projects, requests);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ignoring unreadable snapshot: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the users, projects and requests of the snapshot back to the three text files.
+     * @param usersPath the file path of the users text file
+     * @param projectsPath the file path of the projects text file
+     * @param requestsPath the file path of the requests text file
+     * @return true if all three files were saved, false if an error occurred
+     */
+    public boolean exportText(String usersPath, String projectsPath, String requestsPath) {
+        boolean saved = Writer.writeUsers(usersPath, this.users);
+        saved &= Writer.writeProjects(projectsPath, this.projects);
+        saved &= Writer.writeRequests(requestsPath, this.requests);
+        return saved;
+    }
+}
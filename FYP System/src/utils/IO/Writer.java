@@ -3,10 +3,17 @@ package utils.IO;
 import entity.Project;
 import entity.Request;
 import entity.Student;
+import entity.Supervisor;
 import entity.User;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Objects;
 /**
@@ -19,40 +26,53 @@ import java.util.Objects;
  */
 
 public class Writer {
+    /**
+     * The size in characters of the buffer of the channel writer
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * An action that writes one object as a line of a data file.
+     * @param <T> the type of object written
+     */
+    private interface LineWriter<T> {
+        /**
+         * Writes one object as a line, including the line terminator.
+         * @param out the writer to write the line to
+         * @param item the object to write
+         * @throws IOException if the line cannot be written
+         */
+        void write(java.io.Writer out, T item) throws IOException;
+    }
+
     /**
      * Writes the list of users to file at the specified file path.
      * The format of each line in the file is as follows:
-     * [name][email][password][type][registeredProject]
-     * where [type] is one of "Supervisor", "Coordinator" or "Student", and [registeredProject] is only present for Student users.
+     * [name][email][password][type][registeredProject or projectCap]
+     * where [type] is one of "Supervisor", "Coordinator" or "Student", [registeredProject] is only present for Student users,
+     * and [projectCap] only for supervisors and coordinators whose project cap is not the default.
      * @param fpath the file path to retrieve the user.txt file where the users will be written
      * @param masterUsers the list of User objects to be written to file
+     * @return true if the file was saved, false if an error occurred
      */
-    public static void writeUsers(String fpath, ArrayList<User> masterUsers) {
-        System.out.println("Saving changes to user file...");
-        try {
-            FileWriter writer = new FileWriter(fpath);
-            ArrayList<String> coordinators = new ArrayList<>();
-            for (User user: masterUsers) {
-                if (!coordinators.contains(user.getId())) {
-                    String toWrite = "";
-                    if (Objects.equals(user.getType(), "Student")) {
-                        Student student = (Student) user;
-                        toWrite = user.getName() + '_' + user.getEmail() + '_' + user.getPassword() + '_' + user.getType() + "_" +  student.getRegisteredProject() + '\n';
-                    } else {
-                        toWrite = user.getName() + '_' + user.getEmail() + '_' + user.getPassword() + '_' + user.getType() + '\n';
-                    }
-                    writer.write(toWrite);
-                    if (Objects.equals(user.getType(), "Coordinator")) {
-                        coordinators.add(user.getId());
-                    }
-                }
-
+    public static boolean writeUsers(String fpath, ArrayList<User> masterUsers) {
+        return writeAtomically(fpath, masterUsers, (out, user) -> {
+            out.write(user.getName());
+            out.write('_');
+            out.write(user.getEmail());
+            out.write('_');
+            out.write(user.getPassword());
+            out.write('_');
+            out.write(user.getType());
+            if (Objects.equals(user.getType(), "Student")) {
+                out.write('_');
+                out.write(Integer.toString(((Student) user).getRegisteredProject()));
+            } else if (user instanceof Supervisor && ((Supervisor) user).getProjectCap() != Supervisor.DEFAULT_PROJECT_CAP) {
+                out.write('_');
+                out.write(Integer.toString(((Supervisor) user).getProjectCap()));
             }
-            writer.close();
-        } catch (IOException e) {
-            System.out.println("An error occurred.");
-            e.printStackTrace();
-        }
+            out.write('\n');
+        });
     }
     /**
      * Writes the list of requests to file at the specified file path.
@@ -61,20 +81,23 @@ public class Writer {
      * where [type] specifies what request it is, and [status] is one of "Pending", "Approved" or "Rejected".
      *  @param fpath the file path to retrieve the request.txt file where the requests will be written
      *  @param masterRequests the list of Request objects to be written to file
+     *  @return true if the file was saved, false if an error occurred
      */
-    public static void writeRequests(String fpath, ArrayList<Request> masterRequests) {
-        System.out.println("Saving changes to requests file...");
-        try {
-            FileWriter writer = new FileWriter(fpath);
-            for (Request request: masterRequests) {
-                String toWrite = request.getType() + '_' + request.getStatus() + '_' + request.getDate() + '_' + request.getProjectID() + '_' +  request.getRequesteeID() + '_' + request.getUpdatedValue() + '\n';
-                writer.write(toWrite);
-            }
-            writer.close();
-        } catch (IOException e) {
-            System.out.println("An error occurred.");
-            e.printStackTrace();
-        }
+    public static boolean writeRequests(String fpath, ArrayList<Request> masterRequests) {
+        return writeAtomically(fpath, masterRequests, (out, request) -> {
+            out.write(request.getType());
+            out.write('_');
+            out.write(request.getStatus());
+            out.write('_');
+            out.write(request.getDate().toString());
+            out.write('_');
+            out.write(String.valueOf(request.getProjectID()));
+            out.write('_');
+            out.write(request.getRequesteeID());
+            out.write('_');
+            out.write(request.getUpdatedValue());
+            out.write('\n');
+        });
     }
     /**
 
@@ -85,19 +108,76 @@ public class Writer {
    *  and [createdBy] is the supervisor ID that created the project
    * @param fpath the file path where the projects will be written
    * @param masterProjects the list of Project objects to be written to file
+   * @return true if the file was saved, false if an error occurred
      */
-    public static void writeProjects(String fpath, ArrayList<Project> masterProjects) {
-        System.out.println("Saving changes to projects file...");
+    public static boolean writeProjects(String fpath, ArrayList<Project> masterProjects) {
+        return writeAtomically(fpath, masterProjects, (out, project) -> {
+            out.write(Integer.toString(project.getProjectID()));
+            out.write('_');
+            out.write(project.getSupervisorID());
+            out.write('_');
+            out.write(project.getStudentID());
+            out.write('_');
+            out.write(project.getProjectTitle());
+            out.write('_');
+            out.write(Integer.toString(project.getProjectStatus()));
+            out.write('_');
+            out.write(project.getCreatedBy());
+            out.write('\n');
+        });
+    }
+
+    /**
+     * Writes every object of a list as a line of a temporary file, forces it to disk and renames it over the file at the given path,
+     * then forces the folder so the rename itself survives a crash. If anything fails, the temporary file is deleted.
+     * @param fpath the file path where the objects will be written
+     * @param items the list of objects to be written to file
+     * @param lineWriter the action that writes one object as a line
+     * @param <T> the type of object written
+     * @return true if the file was saved, false if an error occurred
+     */
+    private static <T> boolean writeAtomically(String fpath, ArrayList<T> items, LineWriter<T> lineWriter) {
+        Path target = Path.of(fpath);
+        Path temp = Path.of(fpath + ".tmp");
         try {
-            FileWriter writer = new FileWriter(fpath);
-            for (Project project: masterProjects) {
-                String toWrite = project.getProjectID() + "_" + project.getSupervisorID() + "_" + project.getStudentID() + "_" + project.getProjectTitle() + "_" +  project.getProjectStatus() + "_" + project.getCreatedBy() + '\n';
-                writer.write(toWrite);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 java.io.Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE)) {
+                for (T item: items) {
+                    lineWriter.write(out, item);
+                }
+                out.flush();
+                channel.force(true);
             }
-            writer.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(target.toAbsolutePath().getParent());
+            return true;
         } catch (IOException e) {
             System.out.println("An error occurred.");
             e.printStackTrace();
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // the temporary file is overwritten by the next save
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Forces the entries of a folder to disk, so that files renamed into it are still there after a crash.
+     * Platforms that cannot open a folder as a channel leave this to the file system.
+     * @param directory the folder to force
+     * @throws IOException if the folder was opened but could not be forced
+     */
+    public static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
         }
     }
 }
@@ -1,5 +1,6 @@
 package utils;
 
+import java.io.PrintStream;
 import java.text.ParseException;
 import java.util.InputMismatchException;
 import java.util.Objects;
@@ -42,10 +43,12 @@ public class Input {
      * @return ask for user input
      */
     public Integer getInt(String msgToPrint) {
+        PrintStream out = Session.current().getOut();
         do {
-            System.out.println(msgToPrint);
+            out.println(msgToPrint);
             while (!sc.hasNextInt()) {
-                System.out.print("Please enter a valid integer.");
+                out.print("Please enter a valid integer.");
+                out.flush();
                 sc.next();
             }
             int newInt = sc.nextInt();
@@ -60,10 +63,12 @@ public class Input {
      * @return ask for user input
      */
     public double getDouble(String msgToPrint) {
+        PrintStream out = Session.current().getOut();
         do {
-            System.out.print(msgToPrint);
+            out.print(msgToPrint);
+            out.flush();
             while (!sc.hasNextDouble()) {
-                System.out.println("Please enter a valid double.");
+                out.println("Please enter a valid double.");
                 sc.next();
             }
             return sc.nextInt();
@@ -76,7 +81,9 @@ public class Input {
      * @return ask for user input
      */
     public String getLine(String msgToPrint) {
-        System.out.print(msgToPrint);
+        PrintStream out = Session.current().getOut();
+        out.print(msgToPrint);
+        out.flush();
         return this.sc.nextLine();
     }
 }
\ No newline at end of file
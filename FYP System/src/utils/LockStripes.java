@@ -0,0 +1,91 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The LockStripes class guards the data of the system with a fixed number of reentrant locks, each standing for every key that hashes to it.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LockStripes {
+    /**
+     * The number of stripes, a power of two
+     */
+    private static final int STRIPE_COUNT = 64;
+    /**
+     * The lock of each stripe
+     */
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Constructs a LockStripes object with all stripes unlocked.
+     */
+    public LockStripes() {
+        this.stripes = new ReentrantLock[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * return the stripe that guards a key
+     * @param key the key, such as a project ID or user ID
+     * @return int
+     */
+    private static int stripeOf(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1);
+    }
+
+    /**
+     * return the distinct stripes that guard the given keys, in ascending order
+     * @param keys the keys, of which null ones are ignored
+     * @return int[]
+     */
+    public int[] stripesOf(Object... keys) {
+        int[] stripes = new int[keys.length];
+        int count = 0;
+        for (Object key: keys) {
+            if (key != null) {
+                stripes[count++] = stripeOf(key);
+            }
+        }
+        return Arrays.stream(stripes, 0, count).sorted().distinct().toArray();
+    }
+
+    /**
+     * Locks the given stripes in ascending order, waiting for each until it is free.
+     * @param stripes the stripes to lock, in ascending order as returned by stripesOf
+     */
+    public void lock(int[] stripes) {
+        for (int stripe: stripes) {
+            this.stripes[stripe].lock();
+        }
+    }
+
+    /**
+     * Unlocks the given stripes, in the reverse of the order they were locked in.
+     * @param stripes the stripes to unlock, as passed to lock
+     */
+    public void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            this.stripes[stripes[i]].unlock();
+        }
+    }
+
+    /**
+     * return whether the calling thread holds all the given stripes
+     * @param stripes the stripes to check
+     * @return boolean
+     */
+    public boolean isHeldByCurrentThread(int[] stripes) {
+        for (int stripe: stripes) {
+            if (!this.stripes[stripe].isHeldByCurrentThread()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
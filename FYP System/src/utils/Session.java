@@ -0,0 +1,107 @@
+package utils;
+
+import entity.User;
+
+import java.io.PrintStream;
+
+/**
+ * The Session class holds the input, output and logged in user of one person using the system, kept per thread.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Session {
+    /**
+     * The session of each thread that serves a person other than the console user
+     */
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+    /**
+     * The session of the console, used by threads without a session of their own
+     */
+    private static volatile Session console;
+    /**
+     * The input the person types into
+     */
+    private final Input input;
+    /**
+     * The stream the person's screens are printed to
+     */
+    private final PrintStream out;
+    /**
+     * The user the person is logged in as, or null before login
+     */
+    private User currentUser;
+
+    /**
+     * Constructs a Session reading from the given input and printing to the given stream.
+     * @param input the input the person types into
+     * @param out the stream the person's screens are printed to
+     */
+    public Session(Input input, PrintStream out) {
+        this.input = input;
+        this.out = out;
+    }
+
+    /**
+     * Sets the console session, used by threads without a session of their own.
+     * @param session the session of the console
+     */
+    public static void setConsole(Session session) {
+        console = session;
+    }
+
+    /**
+     * return the session of the calling thread, or the console session if the thread has none
+     * @return Session
+     */
+    public static Session current() {
+        Session session = CURRENT.get();
+        return session != null ? session : console;
+    }
+
+    /**
+     * Makes this session the session of the calling thread until end() is called.
+     */
+    public void begin() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Removes the session of the calling thread, which falls back to the console session.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * return the input the person types into
+     * @return Input
+     */
+    public Input getInput() {
+        return this.input;
+    }
+
+    /**
+     * return the stream the person's screens are printed to
+     * @return PrintStream
+     */
+    public PrintStream getOut() {
+        return this.out;
+    }
+
+    /**
+     * return the user the person is logged in as
+     * @return User, or null before login
+     */
+    public User getCurrentUser() {
+        return this.currentUser;
+    }
+
+    /**
+     * Sets the user the person is logged in as.
+     * @param currentUser the logged in user
+     */
+    public void setCurrentUser(User currentUser) {
+        this.currentUser = currentUser;
+    }
+}
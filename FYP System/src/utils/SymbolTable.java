@@ -0,0 +1,98 @@
+package utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SymbolTable class keeps one canonical copy of every user ID and other repeated value held by users, projects and requests.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SymbolTable {
+    /**
+     * The canonical copy of every value seen, keyed by itself
+     */
+    private static final ConcurrentHashMap<String, String> SYMBOLS = new ConcurrentHashMap<>();
+    /**
+     * The number of references handed out by the table
+     */
+    private static final LongAdder REFERENCES = new LongAdder();
+    /**
+     * The estimated number of bytes taken by the canonical copies
+     */
+    private static final LongAdder CANONICAL_BYTES = new LongAdder();
+    /**
+     * The estimated number of bytes taken by the duplicate copies that were replaced by a canonical one
+     */
+    private static final LongAdder DUPLICATE_BYTES = new LongAdder();
+
+    /**
+     * Constructor of the symbol table class, which only has static methods
+     */
+    private SymbolTable() {}
+
+    /**
+     * return the canonical copy of a value, which is the value itself the first time it is seen.
+     * Passing the canonical copy itself again is not counted in the footprint report, since no duplicate was created.
+     * @param value the value, or null
+     * @return String, or null if the value is null
+     */
+    public static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String symbol = SYMBOLS.putIfAbsent(value, value);
+        if (symbol == value) {
+            return symbol;
+        }
+        REFERENCES.increment();
+        if (symbol == null) {
+            CANONICAL_BYTES.add(footprint(value));
+            return value;
+        }
+        DUPLICATE_BYTES.add(footprint(value));
+        return symbol;
+    }
+
+    /**
+     * Counts a canonical copy that was handed out again without a duplicate being created, such as by the cache of a tokenizer.
+     * @param symbol the canonical copy handed out
+     */
+    public static void reused(String symbol) {
+        REFERENCES.increment();
+        DUPLICATE_BYTES.add(footprint(symbol));
+    }
+
+    /**
+     * return the estimated number of bytes a string takes on heap: the String object and its backing array of one byte per character
+     * @param value the string
+     * @return long
+     */
+    private static long footprint(String value) {
+        return 24 + ((16 + value.length() + 7) & ~7L);
+    }
+
+    /**
+     * return the number of distinct values in the table
+     * @return int
+     */
+    public static int size() {
+        return SYMBOLS.size();
+    }
+
+    /**
+     * return a report of the heap taken by the values without and with canonicalization, or null if no value was canonicalized
+     * @return String
+     */
+    public static String report() {
+        long references = REFERENCES.sum();
+        if (references == 0) {
+            return null;
+        }
+        long after = CANONICAL_BYTES.sum();
+        long before = after + DUPLICATE_BYTES.sum();
+        return String.format("String heap footprint: %.1f KB before canonicalization, %.1f KB after (%d references to %d distinct strings)",
+                before / 1024.0, after / 1024.0, references, SYMBOLS.size());
+    }
+}
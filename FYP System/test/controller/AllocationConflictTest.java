@@ -0,0 +1,176 @@
+package controller;
+
+import entity.CentralManager;
+import entity.Project;
+import entity.ProjectStatus;
+import entity.Request;
+import entity.RequestStatus;
+import entity.RequestType;
+import entity.Student;
+import entity.UpdateResult;
+import entity.User;
+import utils.TestSupport;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static utils.TestSupport.check;
+
+/**
+ * The AllocationConflictTest class checks that sessions reserving and approving the same projects at the same time never allocate a project twice.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class AllocationConflictTest {
+    /**
+     * The number of sessions racing in each test
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * Runs the tests on a copy of the data of the working directory and exits with status 1 if any of them failed.
+     * @param args not used
+     * @throws Exception if the data cannot be copied
+     */
+    public static void main(String[] args) throws Exception {
+        Path workingDirectory = TestSupport.useCopyOfData();
+        CentralManager centralManager = new CentralManager();
+        boolean passed = TestSupport.run("concurrent reservations of one project", () -> concurrentReservations(centralManager));
+        passed &= TestSupport.run("concurrent approvals of one request", () -> concurrentApprovals(centralManager));
+        passed &= TestSupport.run("concurrent approvals for one student", () -> concurrentApprovalsForStudent(centralManager));
+        centralManager.close();
+        TestSupport.deleteCopyOfData(workingDirectory);
+        Runtime.getRuntime().halt(passed ? 0 : 1);
+    }
+
+    /**
+     * Several students reserve the same available project at once. Only one reservation may go through, so the project
+     * ends up reserved with a single pending registration.
+     * @param centralManager the central manager holding the data
+     * @throws Exception if a session failed
+     */
+    private static void concurrentReservations(CentralManager centralManager) throws Exception {
+        StudentController studentController = centralManager.getStudentController();
+        Project project = availableProjects(centralManager).get(0);
+        List<Student> students = unregisteredStudents(centralManager, THREADS);
+
+        List<UpdateResult> results = TestSupport.runConcurrently(THREADS,
+                thread -> studentController.requestAllocation(project.getProjectID(), students.get(thread).getId()));
+
+        check(count(results, UpdateResult.APPLIED) == 1, "expected one reservation to go through, got " + results);
+        check(count(results, UpdateResult.CONFLICT) == THREADS - 1, "expected the other reservations to conflict, got " + results);
+        check(project.getStatus() == ProjectStatus.RESERVED, "expected the project to be reserved, got " + project.getStatus());
+        long pending = centralManager.getRequestStore().getRequests().stream()
+                .filter(request -> request.getProjectID() == project.getProjectID() && request.getRequestType() == RequestType.REGISTER
+                        && request.getRequestStatus() == RequestStatus.PENDING)
+                .count();
+        check(pending == 1, "expected one pending registration for the project, got " + pending);
+    }
+
+    /**
+     * Several coordinators approve the same pending registration at once. Only one approval may go through, so the project
+     * is allocated to the student once and counted once against its supervisor.
+     * @param centralManager the central manager holding the data
+     * @throws Exception if a session failed
+     */
+    private static void concurrentApprovals(CentralManager centralManager) throws Exception {
+        RequestController requestController = centralManager.getRequestController();
+        Project project = availableProjects(centralManager).get(0);
+        Student student = unregisteredStudents(centralManager, 1).get(0);
+        int allocated = centralManager.getProjectStore().getAllocatedCount(project.getSupervisorID());
+        Request request = reserve(centralManager, project, student);
+
+        List<UpdateResult> results = TestSupport.runConcurrently(THREADS, thread -> requestController.processRequest(request, "Y"));
+
+        check(THREADS - count(results, UpdateResult.CONFLICT) == 1, "expected one approval to go through, got " + results);
+        check(results.contains(UpdateResult.APPLIED) || results.contains(UpdateResult.CAP_REACHED), "expected the approval to allocate, got " + results);
+        check(request.getRequestStatus() == RequestStatus.APPROVED, "expected the request to be approved, got " + request.getRequestStatus());
+        check(project.getStatus() == ProjectStatus.ALLOCATED, "expected the project to be allocated, got " + project.getStatus());
+        check(student.getRegisteredProject() == project.getProjectID(), "expected the student to be registered for the project");
+        int allocatedAfter = centralManager.getProjectStore().getAllocatedCount(project.getSupervisorID());
+        check(allocatedAfter == allocated + 1, "expected the supervisor to have " + (allocated + 1) + " allocated projects, got " + allocatedAfter);
+    }
+
+    /**
+     * A student has reserved two projects of different supervisors, and both registrations are approved at once.
+     * The student may only be allocated one of them, so the other approval must fail as stale and leave its request pending.
+     * @param centralManager the central manager holding the data
+     * @throws Exception if a session failed
+     */
+    private static void concurrentApprovalsForStudent(CentralManager centralManager) throws Exception {
+        RequestController requestController = centralManager.getRequestController();
+        List<Project> projects = availableProjects(centralManager);
+        Project first = projects.get(0);
+        Project second = projects.stream().filter(project -> !project.getSupervisorID().equals(first.getSupervisorID())).findFirst().orElseThrow();
+        Student student = unregisteredStudents(centralManager, 1).get(0);
+        Request[] requests = {reserve(centralManager, first, student), reserve(centralManager, second, student)};
+
+        List<UpdateResult> results = TestSupport.runConcurrently(2, thread -> requestController.processRequest(requests[thread], "Y"));
+
+        check(count(results, UpdateResult.CONFLICT) == 1, "expected one approval to conflict, got " + results);
+        int winner = results.get(0) == UpdateResult.CONFLICT ? 1 : 0;
+        Project allocated = winner == 0 ? first : second;
+        Project other = winner == 0 ? second : first;
+        check(student.getRegisteredProject() == allocated.getProjectID(), "expected the student to be registered for project " + allocated.getProjectID());
+        check(allocated.getStatus() == ProjectStatus.ALLOCATED, "expected project " + allocated.getProjectID() + " to be allocated");
+        check(other.getStatus() == ProjectStatus.RESERVED, "expected project " + other.getProjectID() + " to stay reserved, got " + other.getStatus());
+        check(requests[1 - winner].getRequestStatus() == RequestStatus.PENDING, "expected the stale request to stay pending");
+    }
+
+    /**
+     * Reserves a project for a student and returns the registration request it created.
+     * @param centralManager the central manager holding the data
+     * @param project the project to reserve
+     * @param student the student reserving it
+     * @return the pending registration request
+     */
+    private static Request reserve(CentralManager centralManager, Project project, Student student) {
+        UpdateResult result = centralManager.getStudentController().requestAllocation(project.getProjectID(), student.getId());
+        check(result == UpdateResult.APPLIED, "expected project " + project.getProjectID() + " to be reserved, got " + result);
+        ArrayList<Request> requests = centralManager.getRequestController().getRequestsByUserID(student.getId());
+        return requests.get(requests.size() - 1);
+    }
+
+    /**
+     * return the projects that are available for registration
+     * @param centralManager the central manager holding the data
+     * @return List
+     */
+    private static List<Project> availableProjects(CentralManager centralManager) {
+        List<Project> projects = centralManager.getProjectStore().getProjects().stream()
+                .filter(project -> project.getStatus() == ProjectStatus.AVAILABLE)
+                .toList();
+        check(!projects.isEmpty(), "expected the data to have an available project");
+        return projects;
+    }
+
+    /**
+     * return students that are not registered for a project and may register for one
+     * @param centralManager the central manager holding the data
+     * @param number the number of students needed
+     * @return List
+     */
+    private static List<Student> unregisteredStudents(CentralManager centralManager, int number) {
+        List<Student> students = new ArrayList<>();
+        for (User user: centralManager.getMasterUsers()) {
+            if (user instanceof Student student && !student.getRegistered() && student.canRegister()
+                    && centralManager.getRequestController().getRequestsByUserID(student.getId()).isEmpty()) {
+                students.add(student);
+            }
+        }
+        check(students.size() >= number, "expected the data to have " + number + " unregistered students");
+        return students.subList(0, number);
+    }
+
+    /**
+     * return how many times a result occurs in a list of results
+     * @param results the results
+     * @param result the result to count
+     * @return int
+     */
+    private static int count(List<UpdateResult> results, UpdateResult result) {
+        return (int) results.stream().filter(result::equals).count();
+    }
+}
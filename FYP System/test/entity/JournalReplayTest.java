@@ -0,0 +1,175 @@
+package entity;
+
+import controller.ProjectController;
+import controller.RequestController;
+import controller.StudentController;
+import utils.TestSupport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static utils.TestSupport.check;
+
+/**
+ * The JournalReplayTest class checks that every operation committed before a crash is recovered from the journal.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class JournalReplayTest {
+    /**
+     * The number of threads changing the data in the child process
+     */
+    private static final int THREADS = 4;
+    /**
+     * The number of operations run by each thread
+     */
+    private static final int OPERATIONS = 250;
+    /**
+     * The file in the data folder the child process writes the data it ended with to
+     */
+    private static final String EXPECTED = "expected.txt";
+
+    /**
+     * Runs the tests and exits with status 1 if any of them failed.
+     * Given the argument --crash, instead changes the data of the working directory as the child process and halts.
+     * @param args --crash in the child process, nothing otherwise
+     * @throws Exception if the data cannot be copied
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--crash")) {
+            changeAndCrash();
+            return;
+        }
+        boolean passed = TestSupport.run("replay after a crash", () -> replayAfterCrash(1000000));
+        passed &= TestSupport.run("replay after a crash with checkpoints running", () -> replayAfterCrash(50));
+        Runtime.getRuntime().halt(passed ? 0 : 1);
+    }
+
+    /**
+     * Runs the child process on a copy of the data, appends the first half of a record to the journal as a crash in the
+     * middle of a write would, and checks that the data recovered from the journal is the data the child process ended with,
+     * and that it is recovered again the same way on the next start. The copy of the data is kept if the test fails.
+     * @param checkpointMutations the number of changes after which the child process starts a checkpoint
+     * @throws Exception if the child process failed or the data differs
+     */
+    private static void replayAfterCrash(int checkpointMutations) throws Exception {
+        Path workingDirectory = TestSupport.useCopyOfData();
+        Process child = new ProcessBuilder(ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dfyp.mutations.singlewriter=" + MutationLoop.ENABLED,
+                "-Dfyp.checkpoint.mutations=" + checkpointMutations,
+                JournalReplayTest.class.getName(), "--crash")
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workingDirectory.resolve("child.log").toFile())
+                .start();
+        check(child.waitFor() == 0, "the child process failed, see " + workingDirectory.resolve("child.log"));
+        String expected = Files.readString(workingDirectory.resolve("data").resolve(EXPECTED), StandardCharsets.UTF_8);
+
+        Path journal = workingDirectory.resolve("data").resolve("journal.log");
+        Files.write(journal, new byte[] {0, 0, 1, 0, 7, 7}, StandardOpenOption.APPEND);
+        CentralManager centralManager = new CentralManager();
+        String recovered = TestSupport.describe(centralManager);
+        centralManager.close();
+        check(recovered.equals(expected), "the recovered data differs from the data before the crash");
+        centralManager = new CentralManager();
+        String recoveredAgain = TestSupport.describe(centralManager);
+        centralManager.close();
+        check(recoveredAgain.equals(expected), "the data recovered on the next start differs from the data before the crash");
+        TestSupport.deleteCopyOfData(workingDirectory);
+    }
+
+    /**
+     * Changes the data of the working directory from several threads, writes the data it ended with to the data folder
+     * and halts without running the shutdown routine.
+     * Before halting it changes a project title in an operation that is never committed, and has another thread change a user
+     * outside any operation, which forces the record of the title to disk along with its own.
+     * @throws Exception if a change failed
+     */
+    private static void changeAndCrash() throws Exception {
+        CentralManager centralManager = new CentralManager();
+        List<Student> students = new ArrayList<>();
+        List<String> supervisors = new ArrayList<>();
+        for (User user: centralManager.getMasterUsers()) {
+            if (user instanceof Student) {
+                students.add((Student) user);
+            } else if (user.hasRole(Role.SUPERVISOR)) {
+                supervisors.add(user.getId());
+            }
+        }
+        TestSupport.runConcurrently(THREADS, thread -> {
+            change(centralManager, students, supervisors, thread);
+            return null;
+        });
+        Files.writeString(Path.of(System.getProperty("user.dir"), "data", EXPECTED), TestSupport.describe(centralManager), StandardCharsets.UTF_8);
+
+        ChangeSet.begin();
+        centralManager.getProjectStore().getProjects().get(0).setProjectTitle("Never committed");
+        Student student = students.get(0);
+        Thread other = new Thread(() -> student.setPassword(student.getPassword()));
+        other.start();
+        other.join();
+        Runtime.getRuntime().halt(0);
+    }
+
+    /**
+     * Runs the operations of one thread of the child process: registrations, deregistrations, transfers and title changes,
+     * each requested and then processed. Each thread only acts for its own share of the students.
+     * @param centralManager the central manager whose data is changed
+     * @param students the students of the system
+     * @param supervisors the IDs of the supervisors of the system
+     * @param thread the index of the thread
+     */
+    private static void change(CentralManager centralManager, List<Student> students, List<String> supervisors, int thread) {
+        ProjectController projectController = centralManager.getProjectController();
+        RequestController requestController = centralManager.getRequestController();
+        StudentController studentController = centralManager.getStudentController();
+        int projects = centralManager.getProjectStore().getProjects().size();
+        Random random = new Random(thread);
+        for (int i = 0; i < OPERATIONS; i++) {
+            Integer projectID = 1 + random.nextInt(projects);
+            Student student = students.get((thread + THREADS * random.nextInt(students.size() / THREADS)) % students.size());
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (!student.getRegistered() && projectController.validateAvailProjectID(projectID)
+                            && studentController.requestAllocation(projectID, student.getId()) == UpdateResult.APPLIED) {
+                        requestController.processRequest(lastRequest(requestController, student.getId()), random.nextBoolean() ? "Y" : "N");
+                    }
+                }
+                case 1 -> {
+                    if (student.getRegistered()) {
+                        requestController.requestDeAllocation(String.valueOf(student.getRegisteredProject()), student.getId());
+                        requestController.processRequest(lastRequest(requestController, student.getId()), "Y");
+                    }
+                }
+                case 2 -> {
+                    String from = projectController.getSupervisorIDFromProjectID(projectID);
+                    requestController.requestTransfer(String.valueOf(projectID), from, supervisors.get(random.nextInt(supervisors.size())));
+                    requestController.processRequest(lastRequest(requestController, from), "Y");
+                }
+                default -> {
+                    requestController.requestChangeTitle("Title " + thread + "-" + i, student.getId(), String.valueOf(projectID));
+                    requestController.processRequest(lastRequest(requestController, student.getId()), random.nextBoolean() ? "Y" : "N");
+                }
+            }
+        }
+    }
+
+    /**
+     * return the latest request made by a user
+     * @param requestController the request controller
+     * @param userID the ID of the user
+     * @return Request
+     */
+    private static Request lastRequest(RequestController requestController, String userID) {
+        ArrayList<Request> requests = requestController.getRequestsByUserID(userID);
+        return requests.get(requests.size() - 1);
+    }
+}
@@ -0,0 +1,183 @@
+package entity;
+
+import utils.TestSupport;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static utils.TestSupport.check;
+
+/**
+ * The OffHeapRequestStoreTest class checks that an OffHeapRequestStore answers every query exactly as a RequestStore holding
+ * the same requests, after status changes and new requests as well.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class OffHeapRequestStoreTest {
+    /**
+     * The number of requests each store starts with
+     */
+    private static final int REQUESTS = 500;
+    /**
+     * The number of requestees the requests are spread over
+     */
+    private static final int REQUESTEES = 20;
+    /**
+     * The number of projects the requests are spread over
+     */
+    private static final int PROJECTS = 12;
+
+    /**
+     * Runs the tests and exits with status 1 if any of them failed.
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        boolean passed = TestSupport.run("queries match the heap store", OffHeapRequestStoreTest::sameQueries);
+        passed &= TestSupport.run("status changes are seen by every copy of a request", OffHeapRequestStoreTest::statusChanges);
+        passed &= TestSupport.run("new requests are stored and indexed", OffHeapRequestStoreTest::newRequests);
+        passed &= TestSupport.run("snapshots keep the statuses they were taken with", OffHeapRequestStoreTest::snapshots);
+        Runtime.getRuntime().halt(passed ? 0 : 1);
+    }
+
+    /**
+     * Both stores must return the same requests in the same order for every query.
+     */
+    private static void sameQueries() {
+        RequestStore heap = new RequestStore(requests(1));
+        RequestStore offHeap = new OffHeapRequestStore(requests(1));
+        checkSameQueries(heap, offHeap);
+    }
+
+    /**
+     * Changing the status of a request through one copy of it must show in every other copy and move it between the
+     * results of the status queries, in the same way as in the heap store.
+     */
+    private static void statusChanges() {
+        RequestStore heap = new RequestStore(requests(2));
+        RequestStore offHeap = new OffHeapRequestStore(requests(2));
+        Random random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            int seq = random.nextInt(REQUESTS);
+            RequestStatus status = RequestStatus.values()[random.nextInt(RequestStatus.values().length)];
+            Request copy = offHeap.get(seq);
+            Request other = offHeap.getRequestsByRequestee(copy.getRequesteeID()).stream()
+                    .filter(request -> request.getSeq() == seq).findFirst().orElseThrow();
+            copy.setStatus(status);
+            heap.get(seq).setStatus(status);
+            check(other.getRequestStatus() == status, "expected every copy of request " + seq + " to be " + status);
+        }
+        checkSameQueries(heap, offHeap);
+    }
+
+    /**
+     * Requests added to both stores must be returned by every query, in the same way as in the heap store.
+     */
+    private static void newRequests() {
+        RequestStore heap = new RequestStore(requests(3));
+        RequestStore offHeap = new OffHeapRequestStore(requests(3));
+        for (Request request: requests(4)) {
+            heap.add(request);
+            offHeap.add(copy(request));
+        }
+        check(offHeap.size() == 2 * REQUESTS, "expected " + 2 * REQUESTS + " requests, got " + offHeap.size());
+        checkSameQueries(heap, offHeap);
+    }
+
+    /**
+     * A snapshot must keep showing the statuses the requests had when it was taken after they change.
+     */
+    private static void snapshots() {
+        RequestStore offHeap = new OffHeapRequestStore(requests(5));
+        RequestSnapshot before = offHeap.snapshot();
+        List<String> expected = describe(before.stream().toList());
+        for (Request request: offHeap.getRequests()) {
+            request.setStatus(request.getRequestStatus() == RequestStatus.PENDING ? RequestStatus.APPROVED : RequestStatus.PENDING);
+        }
+        check(describe(before.stream().toList()).equals(expected), "expected the snapshot to keep the old statuses");
+        check(describe(offHeap.snapshot().stream().toList()).equals(describe(offHeap.getRequests())),
+                "expected a new snapshot to show the new statuses");
+    }
+
+    /**
+     * Fails unless both stores return the same requests in the same order for every query.
+     * @param heap the heap store
+     * @param offHeap the off-heap store holding the same requests
+     */
+    private static void checkSameQueries(RequestStore heap, RequestStore offHeap) {
+        check(heap.size() == offHeap.size(), "expected " + heap.size() + " requests, got " + offHeap.size());
+        same("all requests", heap.getRequests(), offHeap.getRequests());
+        same("the stream of requests", heap.stream().toList(), offHeap.stream().toList());
+        for (int seq = 0; seq < heap.size(); seq++) {
+            same("request " + seq, List.of(heap.get(seq)), List.of(offHeap.get(seq)));
+        }
+        for (int requestee = 0; requestee <= REQUESTEES; requestee++) {
+            same("the requests of STU" + requestee, heap.getRequestsByRequestee("STU" + requestee), offHeap.getRequestsByRequestee("STU" + requestee));
+        }
+        for (int projectID = 0; projectID <= PROJECTS; projectID++) {
+            same("the requests for project " + projectID, heap.getRequestsByProject(projectID), offHeap.getRequestsByProject(projectID));
+        }
+        for (RequestStatus status: RequestStatus.values()) {
+            same("the " + status + " requests", heap.getRequestsByStatus(status), offHeap.getRequestsByStatus(status));
+        }
+        for (RequestType type: RequestType.values()) {
+            same("the " + type + " requests", heap.getRequestsByTypeAndStatus(type, null), offHeap.getRequestsByTypeAndStatus(type, null));
+            for (RequestStatus status: RequestStatus.values()) {
+                same("the " + status + " " + type + " requests", heap.getRequestsByTypeAndStatus(type, status), offHeap.getRequestsByTypeAndStatus(type, status));
+            }
+        }
+        same("the snapshot", heap.snapshot().stream().toList(), offHeap.snapshot().stream().toList());
+    }
+
+    /**
+     * Fails unless two lists hold requests with the same fields in the same order.
+     * @param query the query the lists were returned by, used in the message
+     * @param expected the requests returned by the heap store
+     * @param actual the requests returned by the off-heap store
+     */
+    private static void same(String query, List<Request> expected, List<Request> actual) {
+        check(describe(expected).equals(describe(actual)), "expected both stores to agree on " + query);
+    }
+
+    /**
+     * return random requests, the same ones for the same seed
+     * @param seed the seed of the random requests
+     * @return ArrayList
+     */
+    private static ArrayList<Request> requests(long seed) {
+        Random random = new Random(seed);
+        ArrayList<Request> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            RequestType type = RequestType.values()[random.nextInt(RequestType.values().length)];
+            RequestStatus status = RequestStatus.values()[random.nextInt(RequestStatus.values().length)];
+            String value = type == RequestType.CHANGE_TITLE ? "Title " + i : type == RequestType.CHANGE_SUPERVISOR ? "SUP" + random.nextInt(5) : "";
+            requests.add(new Request(1 + random.nextInt(PROJECTS), type, "STU" + random.nextInt(REQUESTEES), status,
+                    LocalDate.of(2023, 1, 1).plusDays(random.nextInt(365)), value));
+        }
+        return requests;
+    }
+
+    /**
+     * return a request with the same fields as the given one that is not held by any store
+     * @param request the request to copy
+     * @return Request
+     */
+    private static Request copy(Request request) {
+        return new Request(request.getProjectID(), request.getRequestType(), request.getRequesteeID(), request.getRequestStatus(),
+                request.getDate(), request.getUpdatedValue());
+    }
+
+    /**
+     * return a description of each request, which is equal for two requests exactly when all their fields are
+     * @param requests the requests
+     * @return List
+     */
+    private static List<String> describe(List<Request> requests) {
+        return requests.stream()
+                .map(request -> request.getType() + '_' + request.getStatus() + '_' + request.getDate() + '_' + request.getProjectID() + '_'
+                        + request.getRequesteeID() + '_' + request.getUpdatedValue())
+                .toList();
+    }
+}
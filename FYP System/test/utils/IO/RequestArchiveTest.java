@@ -0,0 +1,150 @@
+package utils.IO;
+
+import entity.CentralManager;
+import entity.Request;
+import entity.RequestStatus;
+import entity.RequestType;
+import utils.TestSupport;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static utils.TestSupport.check;
+
+/**
+ * The RequestArchiveTest class checks that archived requests are read back unchanged, that an archival run interrupted by a crash
+ * is finished or undone, and that the closed requests archived at startup leave the request store but stay in the history.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestArchiveTest {
+    /**
+     * Runs the tests on a copy of the data of the working directory and exits with status 1 if any of them failed.
+     * @param args not used
+     * @throws Exception if the data cannot be copied
+     */
+    public static void main(String[] args) throws Exception {
+        Path workingDirectory = TestSupport.useCopyOfData();
+        boolean passed = TestSupport.run("archived requests are read back", () -> readBack(workingDirectory.resolve("read-back")));
+        passed &= TestSupport.run("a run that crashed before removing its requests is undone", () -> undoRun(workingDirectory.resolve("undo")));
+        passed &= TestSupport.run("a run that crashed after removing its requests is finished", () -> finishRun(workingDirectory.resolve("finish")));
+        passed &= TestSupport.run("old closed requests move to the archive and stay in the history", () -> archiveAtStartup(workingDirectory));
+        TestSupport.deleteCopyOfData(workingDirectory);
+        Runtime.getRuntime().halt(passed ? 0 : 1);
+    }
+
+    /**
+     * Requests archived and committed must be read back by a new archive over the same folder, one segment per month,
+     * oldest month first and in archived order within a month.
+     * @param directory the archive folder
+     * @throws Exception if the archive cannot be written or read
+     */
+    private static void readBack(Path directory) throws Exception {
+        List<Request> requests = closedRequests();
+        RequestArchive archive = new RequestArchive(directory.toString());
+        archive.commit(archive.archive(requests));
+
+        RequestArchive reopened = new RequestArchive(directory.toString());
+        check(reopened.getSegmentCount() == 2, "expected one segment per month, got " + reopened.getSegmentCount());
+        List<String> expected = List.of(describe(requests.get(1)), describe(requests.get(3)), describe(requests.get(0)), describe(requests.get(2)));
+        check(describe(reopened.stream()).equals(expected), "expected the archived requests back in month order, got " + describe(reopened.stream()));
+        check(describe(reopened.streamByRequestee("STU2")).equals(List.of(describe(requests.get(3)), describe(requests.get(2)))),
+                "expected the archived requests of STU2 only");
+    }
+
+    /**
+     * Segments written by a run that never committed them, while all of their requests are still live, must be deleted.
+     * @param directory the archive folder
+     * @throws Exception if the archive cannot be written or read
+     */
+    private static void undoRun(Path directory) throws Exception {
+        List<Request> requests = closedRequests();
+        new RequestArchive(directory.toString()).archive(requests);
+
+        RequestArchive reopened = new RequestArchive(directory.toString());
+        reopened.recover(requests);
+        check(reopened.getSegmentCount() == 0, "expected no committed segments, got " + reopened.getSegmentCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            check(files.noneMatch(file -> file.toString().endsWith(".seg")), "expected the uncommitted segments to be deleted");
+        }
+    }
+
+    /**
+     * Segments written by a run that never committed them, after their requests were removed from the data files,
+     * must be committed.
+     * @param directory the archive folder
+     * @throws Exception if the archive cannot be written or read
+     */
+    private static void finishRun(Path directory) throws Exception {
+        List<Request> requests = closedRequests();
+        new RequestArchive(directory.toString()).archive(requests);
+
+        RequestArchive reopened = new RequestArchive(directory.toString());
+        reopened.recover(List.of());
+        check(reopened.getSegmentCount() == 2, "expected the uncommitted segments to be committed, got " + reopened.getSegmentCount());
+        check(describe(reopened.stream()).size() == requests.size(), "expected every archived request to be read back");
+    }
+
+    /**
+     * A central manager started on data with old closed requests must move them out of the request store and Requests.txt,
+     * keep the old pending request, and still show every request in the history, also after the next start.
+     * @param workingDirectory the working directory of the central manager
+     * @throws Exception if the data cannot be written or read
+     */
+    private static void archiveAtStartup(Path workingDirectory) throws Exception {
+        Path requestsFile = workingDirectory.resolve("data").resolve("Requests.txt");
+        ArrayList<Request> requests = new ArrayList<>(closedRequests());
+        requests.add(new Request(1, RequestType.REGISTER, "STU3", RequestStatus.PENDING, LocalDate.now().minusYears(3), ""));
+        check(Writer.writeRequests(requestsFile.toString(), requests), "could not write the requests");
+        List<String> all = describe(requests.stream());
+
+        for (int start = 0; start < 2; start++) {
+            CentralManager centralManager = new CentralManager();
+            List<String> live = describe(centralManager.getRequestStore().getRequests().stream());
+            List<String> history = describe(centralManager.getRequestController().getRequestHistory());
+            centralManager.close();
+            check(live.equals(List.of(all.get(4))), "expected only the pending request to stay in the request store, got " + live);
+            check(history.size() == all.size() && history.containsAll(all), "expected every request in the history, got " + history);
+            check(Files.readAllLines(requestsFile).size() == 1, "expected only the pending request to stay in Requests.txt");
+        }
+    }
+
+    /**
+     * return approved and rejected requests of two months, long enough ago to be archived
+     * @return List
+     */
+    private static List<Request> closedRequests() {
+        LocalDate month = LocalDate.now().minusYears(3).withDayOfMonth(1);
+        return List.of(
+                new Request(1, RequestType.REGISTER, "STU1", RequestStatus.APPROVED, month.plusMonths(1), ""),
+                new Request(2, RequestType.CHANGE_TITLE, "STU1", RequestStatus.REJECTED, month, "Old title"),
+                new Request(3, RequestType.DE_REGISTER, "STU2", RequestStatus.APPROVED, month.plusMonths(1).plusDays(3), ""),
+                new Request(4, RequestType.CHANGE_SUPERVISOR, "STU2", RequestStatus.REJECTED, month.plusDays(9), "SUP1"));
+    }
+
+    /**
+     * return a description of each request in a stream, which is equal for two requests exactly when all their fields are
+     * @param requests the requests
+     * @return List
+     */
+    private static List<String> describe(Stream<Request> requests) {
+        try (requests) {
+            return requests.map(RequestArchiveTest::describe).toList();
+        }
+    }
+
+    /**
+     * return a description of a request, which is equal for two requests exactly when all their fields are
+     * @param request the request
+     * @return String
+     */
+    private static String describe(Request request) {
+        return request.getType() + '_' + request.getStatus() + '_' + request.getDate() + '_' + request.getProjectID() + '_'
+                + request.getRequesteeID() + '_' + request.getUpdatedValue();
+    }
+}
@@ -0,0 +1,137 @@
+package utils.IO;
+
+import entity.CentralManager;
+import entity.Project;
+import entity.ProjectStatus;
+import entity.Request;
+import entity.Student;
+import entity.Supervisor;
+import entity.UpdateResult;
+import entity.User;
+import utils.TestSupport;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+import static utils.TestSupport.check;
+
+/**
+ * The SnapshotTest class checks that the data saved by a checkpoint, in the binary snapshot and in the text files, loads back unchanged.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SnapshotTest {
+    /**
+     * Runs the tests on a copy of the data of the working directory and exits with status 1 if any of them failed.
+     * @param args not used
+     * @throws Exception if the data cannot be copied
+     */
+    public static void main(String[] args) throws Exception {
+        Path workingDirectory = TestSupport.useCopyOfData();
+        Path data = workingDirectory.resolve("data");
+        String expected = changeAndCheckpoint();
+        boolean passed = TestSupport.run("the snapshot loads the data it was saved with", () -> loadsSnapshot(data, expected));
+        passed &= TestSupport.run("the text files load the data they were saved with", () -> loadsTextFiles(data, expected));
+        passed &= TestSupport.run("an outdated or damaged snapshot is not used", () -> rejectsOutdatedSnapshot(data));
+        TestSupport.deleteCopyOfData(workingDirectory);
+        Runtime.getRuntime().halt(passed ? 0 : 1);
+    }
+
+    /**
+     * Allocates a project, changes a project title, a password and a project cap, saves the data with a checkpoint
+     * and returns the description of the data it saved.
+     * @return String
+     */
+    private static String changeAndCheckpoint() {
+        CentralManager centralManager = new CentralManager();
+        Student student = null;
+        Supervisor supervisor = null;
+        for (User user: centralManager.getMasterUsers()) {
+            if (student == null && user instanceof Student candidate && !candidate.getRegistered()) {
+                student = candidate;
+            } else if (supervisor == null && user instanceof Supervisor candidate) {
+                supervisor = candidate;
+            }
+        }
+        check(student != null && supervisor != null, "expected the data to have an unregistered student and a supervisor");
+        Project project = centralManager.getProjectStore().getProjects().stream()
+                .filter(candidate -> candidate.getStatus() == ProjectStatus.AVAILABLE)
+                .findFirst().orElseThrow();
+        check(centralManager.getStudentController().requestAllocation(project.getProjectID(), student.getId()) == UpdateResult.APPLIED,
+                "expected project " + project.getProjectID() + " to be reserved");
+        ArrayList<Request> requests = centralManager.getRequestController().getRequestsByUserID(student.getId());
+        centralManager.getRequestController().processRequest(requests.get(requests.size() - 1), "Y");
+        check(centralManager.getProjectController().modifyProjectTitle(project.getProjectID(), "Saved title", project.getCreatedBy()),
+                "expected the title of project " + project.getProjectID() + " to change");
+        student.setPassword("saved-password");
+        centralManager.getSupervisorController().setProjectCap(supervisor.getId(), 5);
+        centralManager.checkpoint();
+        String expected = TestSupport.describe(centralManager);
+        centralManager.close();
+        return expected;
+    }
+
+    /**
+     * A central manager started after the checkpoint must load the snapshot and hold the data it was saved with.
+     * @param data the data folder
+     * @param expected the description of the saved data
+     * @throws Exception if the snapshot cannot be read
+     */
+    private static void loadsSnapshot(Path data, String expected) throws Exception {
+        check(Snapshot.read(data.resolve("snapshot.bin").toString(), fingerprint(data)) != null, "expected the checkpoint to save a current snapshot");
+        CentralManager centralManager = new CentralManager();
+        String loaded = TestSupport.describe(centralManager);
+        centralManager.close();
+        check(loaded.equals(expected), "the data loaded from the snapshot differs from the saved data");
+    }
+
+    /**
+     * Without the snapshot, a central manager must load the same data from the text files.
+     * @param data the data folder
+     * @param expected the description of the saved data
+     * @throws Exception if the snapshot cannot be deleted
+     */
+    private static void loadsTextFiles(Path data, String expected) throws Exception {
+        Path snapshot = data.resolve("snapshot.bin");
+        Path saved = data.resolve("snapshot.bin.saved");
+        Files.move(snapshot, saved);
+        CentralManager centralManager = new CentralManager();
+        String loaded = TestSupport.describe(centralManager);
+        centralManager.close();
+        Files.move(saved, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        check(loaded.equals(expected), "the data loaded from the text files differs from the saved data");
+    }
+
+    /**
+     * A snapshot saved with other text files, or whose bytes were changed on disk, must be ignored.
+     * @param data the data folder
+     * @throws Exception if the snapshot cannot be read or copied
+     */
+    private static void rejectsOutdatedSnapshot(Path data) throws Exception {
+        String snapshot = data.resolve("snapshot.bin").toString();
+        long[] fingerprint = fingerprint(data);
+        check(Snapshot.read(snapshot, fingerprint) != null, "expected the snapshot to be current");
+        long[] outdated = fingerprint.clone();
+        outdated[0]++;
+        check(Snapshot.read(snapshot, outdated) == null, "expected a snapshot of other text files to be ignored");
+
+        Path damaged = data.resolve("damaged.bin");
+        byte[] bytes = Files.readAllBytes(Path.of(snapshot));
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(damaged, bytes);
+        check(Snapshot.read(damaged.toString(), null) == null, "expected a snapshot with a wrong checksum to be ignored");
+    }
+
+    /**
+     * return the fingerprint of the text files in a data folder, as a central manager takes it
+     * @param data the data folder
+     * @return long[]
+     * @throws Exception if the attributes of a file cannot be read
+     */
+    private static long[] fingerprint(Path data) throws Exception {
+        return Snapshot.fingerprint(data.resolve("Users.txt").toString(), data.resolve("Projects.txt").toString(), data.resolve("Requests.txt").toString());
+    }
+}
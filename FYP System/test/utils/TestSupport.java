@@ -0,0 +1,174 @@
+package utils;
+
+import entity.CentralManager;
+import entity.Project;
+import entity.Request;
+import entity.Student;
+import entity.Supervisor;
+import entity.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * The TestSupport class holds the helpers shared by the tests, which run on a temporary copy of the data folder.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TestSupport {
+    /**
+     * The data folder of the working directory the tests were started in, which every test copies
+     */
+    private static final Path DATA = Path.of(System.getProperty("user.dir"), "data");
+
+    /**
+     * Copies the data folder of the working directory the tests were started in into a new temporary folder and makes that folder the working
+     * directory of the CentralManager objects constructed afterwards.
+     * @return the temporary working directory
+     * @throws IOException if the data cannot be copied
+     */
+    public static Path useCopyOfData() throws IOException {
+        Path workingDirectory = Files.createTempDirectory("fyp-test");
+        Path to = workingDirectory.resolve("data");
+        try (Stream<Path> paths = Files.walk(DATA)) {
+            paths.forEach(path -> {
+                try {
+                    Files.copy(path, to.resolve(DATA.relativize(path).toString()), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        System.setProperty("user.dir", workingDirectory.toString());
+        return workingDirectory;
+    }
+
+    /**
+     * Deletes a temporary working directory with the copy of the data in it.
+     * The CentralManager objects working on it must be closed first, so that none of them is still writing to it.
+     * @param workingDirectory the temporary working directory
+     */
+    public static void deleteCopyOfData(Path workingDirectory) {
+        try (Stream<Path> paths = Files.walk(workingDirectory)) {
+            for (Path path: paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Could not delete " + workingDirectory + ": " + e);
+        }
+    }
+
+    /**
+     * Runs a task on several threads that all start at the same moment, and returns what each of them returned.
+     * @param threads the number of threads
+     * @param task the task, given the index of its thread
+     * @param <T> the type of the result of the task
+     * @return the results, in the order of the threads
+     * @throws Exception if a task threw an exception
+     */
+    public static <T> List<T> runConcurrently(int threads, IntFunction<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.apply(thread);
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future: futures) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * return a description of all the projects, users and requests held by a central manager,
+     * which is equal for two central managers exactly when they hold the same data
+     * @param centralManager the central manager to describe
+     * @return String
+     */
+    public static String describe(CentralManager centralManager) {
+        StringBuilder description = new StringBuilder();
+        for (Project project: centralManager.getProjectStore().getProjects()) {
+            description.append(project.getProjectID()).append('_').append(project.getSupervisorID()).append('_')
+                    .append(project.getStudentID()).append('_').append(project.getProjectTitle()).append('_')
+                    .append(project.getStatus()).append('\n');
+        }
+        for (User user: centralManager.getMasterUsers()) {
+            description.append(user.getId()).append('_').append(user.getPassword());
+            if (user instanceof Student) {
+                description.append('_').append(((Student) user).getRegisteredProject());
+            } else if (user instanceof Supervisor) {
+                description.append('_').append(((Supervisor) user).getProjectCap());
+            }
+            description.append('\n');
+        }
+        for (Request request: centralManager.getRequestStore().getRequests()) {
+            description.append(request.getProjectID()).append('_').append(request.getRequestType()).append('_')
+                    .append(request.getRequesteeID()).append('_').append(request.getRequestStatus()).append('_')
+                    .append(request.getUpdatedValue()).append('\n');
+        }
+        return description.toString();
+    }
+
+    /**
+     * Fails the running test with the given message if a condition does not hold.
+     * @param condition the condition that must hold
+     * @param message what went wrong if it does not
+     */
+    public static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Runs one test, printing whether it passed, and returns whether it did.
+     * @param name the name of the test
+     * @param test the test
+     * @return boolean
+     */
+    public static boolean run(String name, TestCase test) {
+        try {
+            test.run();
+            System.out.println("PASS " + name);
+            return true;
+        } catch (Throwable e) {
+            System.out.println("FAIL " + name + ": " + e);
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    /**
+     * A test, which throws an exception or an AssertionError when it fails.
+     */
+    public interface TestCase {
+        /**
+         * Runs the test.
+         * @throws Exception if the test fails
+         */
+        void run() throws Exception;
+    }
+}